@@ -0,0 +1,47 @@
+package net.abe.tutorialmod.bench;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shared setup for the benchmarks
+ */
+public final class BenchmarkSupport {
+    
+    private BenchmarkSupport() {
+    }
+    
+    /**
+     * Bootstrap the vanilla registries so blocks, block states and item stacks can be used outside the game
+     */
+    public static synchronized void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+    
+    /**
+     * Make a dictionary of random 3-8 letter words.
+     * The same seed always gives the same words.
+     */
+    public static Map<String, ItemStack> randomWords(long seed, int count) {
+        Random random = new Random(seed);
+        Map<String, ItemStack> words = new LinkedHashMap<>();
+        StringBuilder word = new StringBuilder();
+        
+        while (words.size() < count) {
+            word.setLength(0);
+            int length = 3 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.put(word.toString(), new ItemStack(Items.PAPER));
+        }
+        return words;
+    }
+}
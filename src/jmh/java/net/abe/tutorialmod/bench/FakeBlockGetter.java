@@ -0,0 +1,70 @@
+package net.abe.tutorialmod.bench;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An in-memory stand-in for a level: a sparse map of block states with air everywhere else.
+ * Counts block state reads so benchmarks can report how many lookups an operation needs.
+ */
+public final class FakeBlockGetter implements BlockGetter {
+    
+    private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+    private long reads;
+    
+    public FakeBlockGetter() {
+        states.defaultReturnValue(Blocks.AIR.defaultBlockState());
+    }
+    
+    public void setBlock(BlockPos pos, BlockState state) {
+        if (state.isAir()) {
+            states.remove(pos.asLong());
+        } else {
+            states.put(pos.asLong(), state);
+        }
+    }
+    
+    /**
+     * How many block states have been read since the last reset
+     */
+    public long reads() {
+        return reads;
+    }
+    
+    public void resetReads() {
+        reads = 0;
+    }
+    
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        reads++;
+        return states.get(pos.asLong());
+    }
+    
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+    
+    @Override
+    @Nullable
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+    
+    @Override
+    public int getHeight() {
+        return 384;
+    }
+    
+    @Override
+    public int getMinBuildHeight() {
+        return -64;
+    }
+}
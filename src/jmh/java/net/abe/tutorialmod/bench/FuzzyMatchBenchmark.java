@@ -0,0 +1,109 @@
+package net.abe.tutorialmod.bench;
+
+import net.abe.tutorialmod.word.FuzzyMatcher;
+import net.abe.tutorialmod.word.LetterRun;
+import net.abe.tutorialmod.word.LetterSource;
+import net.abe.tutorialmod.word.WordDictionary;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closest-word lookups for misspelled runs, for a range of dictionary sizes and edit limits.
+ * Typos are dictionary words with two neighbouring letters swapped; noise is random letters,
+ * which usually has nothing close and so has to check everything within the limit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyMatchBenchmark {
+    
+    private static final int QUERIES = 256;
+    private static final int Y = 64;
+    
+    @Param({"40", "1000", "50000"})
+    public int dictionarySize;
+    
+    @Param({"1", "2"})
+    public int maxDistance;
+    
+    private WordDictionary dictionary;
+    private LetterRun[] typos;
+    private LetterRun[] noise;
+    private final FuzzyMatcher matcher = new FuzzyMatcher();
+    
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+        dictionary = WordDictionary.compile(BenchmarkSupport.randomWords(42, dictionarySize));
+        
+        // Built once per dictionary load in the game, so keep it out of the timings
+        dictionary.fuzzyIndex();
+        
+        Random random = new Random(7);
+        List<LetterRun> typoRuns = new ArrayList<>();
+        List<LetterRun> noiseRuns = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            char[] word = dictionary.getWord(random.nextInt(dictionary.size())).toCharArray();
+            int swap = random.nextInt(word.length - 1);
+            char letter = word[swap];
+            word[swap] = word[swap + 1];
+            word[swap + 1] = letter;
+            typoRuns.add(runOf(word));
+            
+            char[] letters = new char[3 + random.nextInt(6)];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(26));
+            }
+            noiseRuns.add(runOf(letters));
+        }
+        typos = typoRuns.toArray(new LetterRun[0]);
+        noise = noiseRuns.toArray(new LetterRun[0]);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int typo() {
+        int found = 0;
+        for (LetterRun run : typos) {
+            found += matcher.closest(dictionary, run, maxDistance);
+        }
+        return found;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int noise() {
+        int found = 0;
+        for (LetterRun run : noise) {
+            found += matcher.closest(dictionary, run, maxDistance);
+        }
+        return found;
+    }
+    
+    private static LetterRun runOf(char[] letters) {
+        LetterSource source = (x, y, z) -> y == Y && z == 0 && x >= 0 && x < letters.length ? letters[x] : '\0';
+        LetterRun run = new LetterRun();
+        run.read(source, new BlockPos(0, Y, 0), Direction.Axis.X);
+        return run.copy();
+    }
+}
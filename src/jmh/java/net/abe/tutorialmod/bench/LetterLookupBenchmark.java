@@ -0,0 +1,93 @@
+package net.abe.tutorialmod.bench;
+
+import net.abe.tutorialmod.AlphabetBlocks;
+import net.abe.tutorialmod.word.LetterIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up the letter at a position, through the letter index and through block states.
+ * Letter blocks can only be registered while the game loads, so the block state path reads vanilla blocks;
+ * getLetterFromBlock does the same type check whatever the block is.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LetterLookupBenchmark {
+    
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static final int MIN_SECTION = -4;
+    private static final int SECTION_COUNT = 24;
+    private static final int BASE_Y = 64;
+    
+    // Percentage of positions in the section that hold a letter
+    @Param({"0", "5", "50"})
+    public int fillPercent;
+    
+    private LetterIndex index;
+    private FakeBlockGetter blocks;
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+        index = new LetterIndex(MIN_SECTION, SECTION_COUNT);
+        blocks = new FakeBlockGetter();
+        
+        Random random = new Random(42);
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            if (random.nextInt(100) < fillPercent) {
+                int x = i & 15;
+                int y = BASE_Y + (i >> 8);
+                int z = (i >> 4) & 15;
+                index.set(x, y, z, (char) ('a' + random.nextInt(AlphabetBlocks.LETTER_COUNT)));
+                blocks.setBlock(new BlockPos(x, y, z), Blocks.STONE.defaultBlockState());
+            }
+        }
+    }
+    
+    /**
+     * Every position in one section through the letter index
+     */
+    @Benchmark
+    @OperationsPerInvocation(SECTION_VOLUME)
+    public int letterIndex() {
+        int sum = 0;
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            sum += index.getLetter(i & 15, BASE_Y + (i >> 8), (i >> 4) & 15);
+        }
+        return sum;
+    }
+    
+    /**
+     * Every position in one section through getBlockState and getLetterFromBlock
+     */
+    @Benchmark
+    @OperationsPerInvocation(SECTION_VOLUME)
+    public int blockState() {
+        int sum = 0;
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            cursor.set(i & 15, BASE_Y + (i >> 8), (i >> 4) & 15);
+            sum += AlphabetBlocks.getLetterFromBlock(blocks.getBlockState(cursor).getBlock());
+        }
+        return sum;
+    }
+}
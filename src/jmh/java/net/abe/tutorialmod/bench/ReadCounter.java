@@ -0,0 +1,25 @@
+package net.abe.tutorialmod.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Extra benchmark output counting block or letter lookups.
+ * Both fields are totals for the iteration, so reads divided by calls is the number of lookups per operation.
+ */
+@AuxCounters(AuxCounters.Type.EVENTS)
+@State(Scope.Thread)
+public class ReadCounter {
+    
+    public long reads;
+    public long calls;
+    
+    @Setup(Level.Iteration)
+    public void reset() {
+        reads = 0;
+        calls = 0;
+    }
+}
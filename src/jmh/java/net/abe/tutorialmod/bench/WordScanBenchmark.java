@@ -0,0 +1,174 @@
+package net.abe.tutorialmod.bench;
+
+import net.abe.tutorialmod.word.FoundWords;
+import net.abe.tutorialmod.word.LetterRun;
+import net.abe.tutorialmod.word.LetterSource;
+import net.abe.tutorialmod.word.WordDictionary;
+import net.abe.tutorialmod.word.WordMatches;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word scans over lines of letters, for a range of run lengths and dictionary sizes.
+ * Letters come from an array instead of a level, so the numbers show the scan itself.
+ * The legacy benchmark is the old six-direction scan, kept as a baseline for lookups and allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordScanBenchmark {
+    
+    // How many parallel lines the batched benchmark scans, like one tick's worth of queued letters
+    private static final int BATCH = 64;
+    private static final int Y = 64;
+    
+    // Cached because Direction.Axis.values() makes a new array every call
+    private static final Direction.Axis[] AXES = Direction.Axis.values();
+    
+    @Param({"3", "8", "16", "32", "64"})
+    public int runLength;
+    
+    @Param({"40", "1000", "50000"})
+    public int dictionarySize;
+    
+    private WordDictionary dictionary;
+    private Set<String> legacyWords;
+    private char[][] lines;
+    private LetterSource letters;
+    private long lookups;
+    
+    private final LetterRun run = new LetterRun();
+    private final WordMatches matches = new WordMatches();
+    private final FoundWords found = new FoundWords();
+    private final BlockPos.MutableBlockPos origin = new BlockPos.MutableBlockPos();
+    
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+        Map<String, ItemStack> words = BenchmarkSupport.randomWords(42, dictionarySize);
+        dictionary = WordDictionary.compile(words);
+        legacyWords = words.keySet();
+        
+        // Fill each line with dictionary words back to back, cut off at the run length
+        List<String> wordList = new ArrayList<>(words.keySet());
+        lines = new char[BATCH][runLength];
+        int next = 0;
+        for (char[] line : lines) {
+            StringBuilder text = new StringBuilder();
+            while (text.length() < runLength) {
+                text.append(wordList.get(next++ % wordList.size()));
+            }
+            text.getChars(0, runLength, line, 0);
+        }
+        
+        // Lines run along X at y = 64, one per z
+        letters = (x, y, z) -> {
+            lookups++;
+            return y == Y && z >= 0 && z < BATCH && x >= 0 && x < runLength ? lines[z][x] : '\0';
+        };
+    }
+    
+    /**
+     * Read and match the runs through one newly placed letter along all three axes, as checking a placed letter does,
+     * so lookups and allocation compare like for like with the legacy six-direction scan
+     */
+    @Benchmark
+    public int singleRun(ReadCounter counter) {
+        lookups = 0;
+        int wordsFound = 0;
+        for (Direction.Axis axis : AXES) {
+            if (run.read(letters, origin.set(runLength / 2, Y, 0), axis)) {
+                run.findWords(dictionary, matches);
+                wordsFound += matches.size();
+            }
+        }
+        counter.reads += lookups;
+        counter.calls++;
+        return wordsFound;
+    }
+    
+    /**
+     * Read and match a batch of runs and collect every word found, like a tick of the scan queue
+     */
+    @Benchmark
+    public int batchedRuns(ReadCounter counter) {
+        lookups = 0;
+        found.clear();
+        for (int z = 0; z < BATCH; z++) {
+            if (run.read(letters, origin.set(runLength / 2, Y, z), Direction.Axis.X)) {
+                run.findWords(dictionary, matches);
+                found.addAll(run, matches);
+            }
+        }
+        counter.reads += lookups;
+        counter.calls++;
+        return found.size();
+    }
+    
+    /**
+     * The scan as it used to be: all six directions, a fresh position and list per step,
+     * and only the whole run checked against the word list
+     */
+    @Benchmark
+    public int legacySixDirections(ReadCounter counter) {
+        lookups = 0;
+        int wordsFound = 0;
+        BlockPos start = new BlockPos(runLength / 2, Y, 0);
+        
+        for (Direction direction : Direction.values()) {
+            List<BlockPos> letterPositions = new ArrayList<>();
+            StringBuilder word = new StringBuilder();
+            
+            BlockPos currentPos = start;
+            while (true) {
+                BlockPos backPos = currentPos.relative(direction.getOpposite());
+                if (letters.letterAt(backPos.getX(), backPos.getY(), backPos.getZ()) != '\0') {
+                    currentPos = backPos;
+                } else {
+                    break;
+                }
+            }
+            
+            while (true) {
+                char letter = letters.letterAt(currentPos.getX(), currentPos.getY(), currentPos.getZ());
+                if (letter != '\0') {
+                    letterPositions.add(currentPos);
+                    word.append(letter);
+                    currentPos = currentPos.relative(direction);
+                } else {
+                    break;
+                }
+            }
+            
+            if (word.length() >= 2 && legacyWords.contains(word.toString().toLowerCase(Locale.ROOT))) {
+                wordsFound += letterPositions.size();
+            }
+        }
+        
+        counter.reads += lookups;
+        counter.calls++;
+        return wordsFound;
+    }
+}
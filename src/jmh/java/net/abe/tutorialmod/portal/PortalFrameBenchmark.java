@@ -0,0 +1,123 @@
+package net.abe.tutorialmod.portal;
+
+import net.abe.tutorialmod.bench.BenchmarkSupport;
+import net.abe.tutorialmod.bench.FakeBlockGetter;
+import net.abe.tutorialmod.bench.ReadCounter;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.Blocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portal frame validation around a placed bookshelf, the way a placement searches for a completed frame.
+ * Radius 4 is the box the mod used to search; the others show how the cost grows.
+ * The flood fill search only looks at frames the placed bookshelf is part of, so it doesn't depend on the radius;
+ * its cost is bounded by the largest frame allowed instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortalFrameBenchmark {
+    
+    private static final int PORTAL_WIDTH = 4;
+    private static final int PORTAL_HEIGHT = 5;
+    
+    @Param({"1", "2", "4", "8"})
+    public int radius;
+    
+    // A complete frame ends the search at its corner, a half-built one makes it try every corner
+    @Param({"true", "false"})
+    public boolean complete;
+    
+    private final BlockPos corner = new BlockPos(0, 64, 0);
+    private BlockPos placed;
+    private FakeBlockGetter level;
+    
+    @Setup
+    public void setup() {
+        BenchmarkSupport.bootstrap();
+        level = new FakeBlockGetter();
+        Direction right = Direction.NORTH.getClockWise();
+        
+        for (int i = 0; i < PORTAL_WIDTH; i++) {
+            level.setBlock(corner.relative(right, i), Blocks.BOOKSHELF.defaultBlockState());
+            if (complete) {
+                level.setBlock(corner.relative(right, i).above(PORTAL_HEIGHT - 1), Blocks.BOOKSHELF.defaultBlockState());
+            }
+        }
+        for (int i = 1; i < PORTAL_HEIGHT - 1; i++) {
+            level.setBlock(corner.above(i), Blocks.BOOKSHELF.defaultBlockState());
+            level.setBlock(corner.relative(right, PORTAL_WIDTH - 1).above(i), Blocks.BOOKSHELF.defaultBlockState());
+        }
+        
+        // The last bookshelf of the frame, top right
+        placed = corner.relative(right, PORTAL_WIDTH - 1).above(PORTAL_HEIGHT - 1);
+    }
+    
+    /**
+     * Try every corner within the radius in both orientations, stopping at the first valid frame
+     */
+    @Benchmark
+    public boolean searchAroundPlacement(ReadCounter counter) {
+        level.resetReads();
+        boolean found = search();
+        counter.reads += level.reads();
+        counter.calls++;
+        return found;
+    }
+    
+    /**
+     * Flood fill the inside next to the placed bookshelf, as placement does now, allowing frames up to 23x23
+     */
+    @Benchmark
+    public boolean floodFillSearch(ReadCounter counter) {
+        level.resetReads();
+        boolean found = PortalFrameFinder.forEachFrame(level, placed, PORTAL_WIDTH, PORTAL_HEIGHT,
+            PortalFrameFinder.MAX_FRAME_SIZE, PortalFrameFinder.MAX_FRAME_SIZE, (candidate, facing, width, height) -> true);
+        counter.reads += level.reads();
+        counter.calls++;
+        return found;
+    }
+    
+    /**
+     * Validate one known frame, the cost of each maintenance check
+     */
+    @Benchmark
+    public boolean validateKnownFrame(ReadCounter counter) {
+        level.resetReads();
+        boolean valid = AutoPortalActivator.isValidPortalFrame(level, corner, Direction.NORTH, AutoPortalActivator.PORTAL_WIDTH, AutoPortalActivator.PORTAL_HEIGHT);
+        counter.reads += level.reads();
+        counter.calls++;
+        return valid;
+    }
+    
+    private boolean search() {
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dy = -radius - 1; dy <= radius + 1; dy++) {
+                for (int dz = -radius; dz <= radius; dz++) {
+                    BlockPos testPos = placed.offset(dx, dy, dz);
+                    if (AutoPortalActivator.isValidPortalFrame(level, testPos, Direction.NORTH, AutoPortalActivator.PORTAL_WIDTH, AutoPortalActivator.PORTAL_HEIGHT)
+                        || AutoPortalActivator.isValidPortalFrame(level, testPos, Direction.EAST, AutoPortalActivator.PORTAL_WIDTH, AutoPortalActivator.PORTAL_HEIGHT)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
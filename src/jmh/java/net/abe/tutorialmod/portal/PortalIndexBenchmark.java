@@ -0,0 +1,138 @@
+package net.abe.tutorialmod.portal;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up portals by position with the chunk index, against scanning every portal the way the
+ * old static set did. Portals of every allowed size are spread over a square the size of a busy server's explored area.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortalIndexBenchmark {
+    
+    private static final int QUERIES = 256;
+    
+    @Param({"100", "10000"})
+    public int portalCount;
+    
+    // Blocks from the origin to the edge of the square portals are placed in
+    @Param({"2000"})
+    public int spread;
+    
+    private final PortalSpatialIndex index = new PortalSpatialIndex();
+    private final List<PortalRegistry.Portal> all = new ArrayList<>();
+    
+    // Counted by the lambda in frameAtIndexed
+    private int hits;
+    
+    // A quarter inside a portal, a quarter on a frame, half anywhere
+    private BlockPos[] queries;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < portalCount; i++) {
+            BlockPos corner = new BlockPos(random.nextInt(spread * 2) - spread, 60 + random.nextInt(40), random.nextInt(spread * 2) - spread);
+            int width = 4 + random.nextInt(PortalFrameFinder.MAX_FRAME_SIZE - 3);
+            int height = 5 + random.nextInt(PortalFrameFinder.MAX_FRAME_SIZE - 4);
+            PortalRegistry.Portal portal = new PortalRegistry.Portal(corner, random.nextBoolean() ? Direction.Axis.X : Direction.Axis.Z, width, height);
+            index.add(portal);
+            all.add(portal);
+        }
+        
+        queries = new BlockPos[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            if (i % 2 == 0) {
+                PortalRegistry.Portal portal = all.get(random.nextInt(all.size()));
+                queries[i] = i % 4 == 0
+                    ? portal.corner().relative(portal.right(), 1).above(2)
+                    : portal.corner().above(portal.height() - 1);
+            } else {
+                queries[i] = new BlockPos(random.nextInt(spread * 2) - spread, 60 + random.nextInt(40), random.nextInt(spread * 2) - spread);
+            }
+        }
+    }
+    
+    /**
+     * Which portal is a player standing in, as the teleport handler asks every tick
+     */
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int portalAtIndexed() {
+        int hits = 0;
+        for (BlockPos pos : queries) {
+            if (index.portalAt(pos) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int portalAtScan() {
+        int hits = 0;
+        for (BlockPos pos : queries) {
+            for (PortalRegistry.Portal portal : all) {
+                if (portal.contains(pos)) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+    
+    /**
+     * Portals whose frame includes a broken bookshelf, as extinguishing asks
+     */
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int frameAtIndexed() {
+        hits = 0;
+        for (BlockPos pos : queries) {
+            index.forEachAt(pos, portal -> {
+                if (portal.isFrame(pos)) {
+                    hits++;
+                }
+            });
+        }
+        return hits;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int frameAtScan() {
+        int found = 0;
+        for (BlockPos pos : queries) {
+            for (PortalRegistry.Portal portal : all) {
+                if (portal.isFrame(pos)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+}
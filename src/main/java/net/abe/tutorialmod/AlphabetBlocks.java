@@ -8,6 +8,8 @@ import net.minecraft.world.level.material.MapColor;
 import net.neoforged.neoforge.registries.DeferredBlock;
 import net.neoforged.neoforge.registries.DeferredItem;
 
+import java.util.List;
+
 /**
  * Registry class for all alphabet letter blocks A-Z
  * Each block represents a letter for teaching phonics
@@ -70,12 +72,24 @@ public class AlphabetBlocks {
     public static final DeferredItem<BlockItem> ITEM_Y = registerLetterBlockItem("y", BLOCK_Y);
     public static final DeferredItem<BlockItem> ITEM_Z = registerLetterBlockItem("z", BLOCK_Z);
     
+    // Number of letters in the alphabet
+    public static final int LETTER_COUNT = 26;
+    
+    // All letter blocks in alphabetical order, so a letter's block can be found by index
+    private static final List<DeferredBlock<Block>> LETTER_BLOCKS = List.of(
+        BLOCK_A, BLOCK_B, BLOCK_C, BLOCK_D, BLOCK_E, BLOCK_F, BLOCK_G,
+        BLOCK_H, BLOCK_I, BLOCK_J, BLOCK_K, BLOCK_L, BLOCK_M, BLOCK_N,
+        BLOCK_O, BLOCK_P, BLOCK_Q, BLOCK_R, BLOCK_S, BLOCK_T, BLOCK_U,
+        BLOCK_V, BLOCK_W, BLOCK_X, BLOCK_Y, BLOCK_Z
+    );
+    
     /**
      * Helper method to register a letter block with specific color
      */
     private static DeferredBlock<Block> registerLetterBlock(String letter, MapColor color) {
-        return ExampleMod.BLOCKS.registerSimpleBlock(
+        return ExampleMod.BLOCKS.registerBlock(
             "letter_" + letter,
+            properties -> new LetterBlock(letter.charAt(0), properties),
             BlockBehaviour.Properties.of()
                 .mapColor(color)
                 .strength(1.0f)
@@ -94,32 +108,9 @@ public class AlphabetBlocks {
      * Get the letter character from a letter block
      */
     public static char getLetterFromBlock(Block block) {
-        if (block == BLOCK_A.get()) return 'a';
-        if (block == BLOCK_B.get()) return 'b';
-        if (block == BLOCK_C.get()) return 'c';
-        if (block == BLOCK_D.get()) return 'd';
-        if (block == BLOCK_E.get()) return 'e';
-        if (block == BLOCK_F.get()) return 'f';
-        if (block == BLOCK_G.get()) return 'g';
-        if (block == BLOCK_H.get()) return 'h';
-        if (block == BLOCK_I.get()) return 'i';
-        if (block == BLOCK_J.get()) return 'j';
-        if (block == BLOCK_K.get()) return 'k';
-        if (block == BLOCK_L.get()) return 'l';
-        if (block == BLOCK_M.get()) return 'm';
-        if (block == BLOCK_N.get()) return 'n';
-        if (block == BLOCK_O.get()) return 'o';
-        if (block == BLOCK_P.get()) return 'p';
-        if (block == BLOCK_Q.get()) return 'q';
-        if (block == BLOCK_R.get()) return 'r';
-        if (block == BLOCK_S.get()) return 's';
-        if (block == BLOCK_T.get()) return 't';
-        if (block == BLOCK_U.get()) return 'u';
-        if (block == BLOCK_V.get()) return 'v';
-        if (block == BLOCK_W.get()) return 'w';
-        if (block == BLOCK_X.get()) return 'x';
-        if (block == BLOCK_Y.get()) return 'y';
-        if (block == BLOCK_Z.get()) return 'z';
+        if (block instanceof LetterBlock letterBlock) {
+            return letterBlock.getLetter();
+        }
         return '\0'; // Not a letter block
     }
     
@@ -127,6 +118,17 @@ public class AlphabetBlocks {
      * Check if a block is a letter block
      */
     public static boolean isLetterBlock(Block block) {
-        return getLetterFromBlock(block) != '\0';
+        return block instanceof LetterBlock;
+    }
+    
+    /**
+     * Get the block for a letter, or null if the character is not a-z
+     */
+    public static Block getBlockForLetter(char letter) {
+        int index = Character.toLowerCase(letter) - 'a';
+        if (index < 0 || index >= LETTER_COUNT) {
+            return null;
+        }
+        return LETTER_BLOCKS.get(index).get();
     }
 }
@@ -28,6 +28,50 @@ public class Config {
             .comment("A list of items to log on common setup.")
             .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), () -> "", Config::validateItemName);
 
+    public static final ModConfigSpec.IntValue WORD_SCAN_BUDGET_MICROS = BUILDER
+            .comment("How many microseconds each tick may spend checking placed letters for words. Letters left over are checked next tick.")
+            .defineInRange("wordScanBudgetMicros", 2000, 100, 50000);
+
+    public static final ModConfigSpec.BooleanValue CROSSWORD_MODE = BUILDER
+            .comment("Check whole crossword-style boards of letters instead of just the lines through each placed letter")
+            .define("crosswordMode", false);
+
+    public static final ModConfigSpec.IntValue CROSSWORD_MAX_LETTERS = BUILDER
+            .comment("The most connected letters one crossword board check will look at")
+            .defineInRange("crosswordMaxLetters", 1024, 16, 16384);
+
+    public static final ModConfigSpec.BooleanValue ASYNC_WORD_MATCHING = BUILDER
+            .comment("Match letters against the dictionary on a worker thread. Turn off to match on the server thread, which is easier to debug.")
+            .define("asyncWordMatching", true);
+
+    public static final ModConfigSpec.BooleanValue FUZZY_WORD_HINTS = BUILDER
+            .comment("When a line of letters spells no word, tell the nearest player which word it is closest to")
+            .define("fuzzyWordHints", false);
+
+    public static final ModConfigSpec.IntValue FUZZY_MAX_DISTANCE = BUILDER
+            .comment("How many letters a misspelling may be off by (added, missing, changed or swapped) and still get a hint")
+            .defineInRange("fuzzyMaxDistance", 1, 1, 2);
+
+    public static final ModConfigSpec.IntValue PORTAL_MIN_WIDTH = BUILDER
+            .comment("The narrowest bookshelf portal frame that lights, counting the bookshelves on both sides")
+            .defineInRange("portalMinWidth", 4, 4, 23);
+
+    public static final ModConfigSpec.IntValue PORTAL_MIN_HEIGHT = BUILDER
+            .comment("The shortest bookshelf portal frame that lights, counting the bookshelves top and bottom")
+            .defineInRange("portalMinHeight", 5, 5, 23);
+
+    public static final ModConfigSpec.IntValue PORTAL_MAX_WIDTH = BUILDER
+            .comment("The widest bookshelf portal frame that lights. Bigger frames cost more to detect.")
+            .defineInRange("portalMaxWidth", 23, 4, 23);
+
+    public static final ModConfigSpec.IntValue PORTAL_MAX_HEIGHT = BUILDER
+            .comment("The tallest bookshelf portal frame that lights. Bigger frames cost more to detect.")
+            .defineInRange("portalMaxHeight", 23, 5, 23);
+
+    public static final ModConfigSpec.IntValue PORTAL_ADMISSIONS_PER_TICK = BUILDER
+            .comment("How many players may arrive through bookshelf portals each tick. Others wait in the queue for a later tick.")
+            .defineInRange("portalAdmissionsPerTick", 2, 1, 100);
+
     static final ModConfigSpec SPEC = BUILDER.build();
 
     private static boolean validateItemName(final Object obj) {
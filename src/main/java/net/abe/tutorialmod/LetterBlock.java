@@ -0,0 +1,71 @@
+package net.abe.tutorialmod;
+
+import net.abe.tutorialmod.word.LetterIndex;
+import net.abe.tutorialmod.word.LetterPlacers;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * A letter block that remembers which letter it shows,
+ * so finding the letter is a single field read.
+ * Letter blocks keep the letter index up to date and queue themselves for word checks however they get placed,
+ * so words pushed by pistons, placed by dispensers or made with /setblock and /fill are found too.
+ */
+public class LetterBlock extends Block {
+    
+    // Set while letters are written with positions the hooks below can't use, like island generation
+    private static boolean untracked;
+    
+    // The lowercase letter for this block
+    private final char letter;
+    
+    public LetterBlock(char letter, Properties properties) {
+        super(properties);
+        this.letter = letter;
+    }
+    
+    /**
+     * Get the lowercase letter this block represents
+     */
+    public char getLetter() {
+        return letter;
+    }
+    
+    /**
+     * Run something that places letter blocks without updating the letter index or queueing word checks.
+     * Must run on the server thread.
+     */
+    public static void runUntracked(Runnable action) {
+        boolean wasUntracked = untracked;
+        untracked = true;
+        try {
+            action.run();
+        } finally {
+            untracked = wasUntracked;
+        }
+    }
+    
+    @Override
+    protected void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean movedByPiston) {
+        super.onPlace(state, level, pos, oldState, movedByPiston);
+        if (level.isClientSide || untracked || oldState.is(this)) {
+            return;
+        }
+        
+        // Letters arriving together in one tick are checked together, one scan per line
+        LetterIndex.update(level, pos, letter);
+        WordScanQueue.enqueue(level, pos);
+    }
+    
+    @Override
+    protected void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean movedByPiston) {
+        // A letter replacing this one sets its own entry when it is placed
+        if (!level.isClientSide && !untracked && !newState.is(this)) {
+            LetterIndex.update(level, pos, '\0');
+            LetterPlacers.forget(level, pos);
+        }
+        super.onRemove(state, level, pos, newState, movedByPiston);
+    }
+}
@@ -0,0 +1,34 @@
+package net.abe.tutorialmod;
+
+import net.abe.tutorialmod.portal.PortalState;
+import net.abe.tutorialmod.word.LetterIndex;
+import net.abe.tutorialmod.word.SpellStats;
+import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.registries.DeferredRegister;
+import net.neoforged.neoforge.registries.NeoForgeRegistries;
+
+import java.util.function.Supplier;
+
+/**
+ * Registry class for data the mod attaches to chunks and players
+ */
+public class ModAttachments {
+    
+    public static final DeferredRegister<AttachmentType<?>> ATTACHMENT_TYPES =
+        DeferredRegister.create(NeoForgeRegistries.ATTACHMENT_TYPES, TutorialMod.MODID);
+    
+    // Where the letter blocks in a chunk are. Not saved - it is rebuilt from the chunk the first time it's needed after loading.
+    public static final Supplier<AttachmentType<LetterIndex>> LETTER_INDEX = ATTACHMENT_TYPES.register(
+        "letter_index", () -> AttachmentType.builder(LetterIndex::scan).build()
+    );
+    
+    // Each player's spelling statistics. Saved with the player and kept through death.
+    public static final Supplier<AttachmentType<SpellStats>> SPELL_STATS = ATTACHMENT_TYPES.register(
+        "spell_stats", () -> AttachmentType.serializable(SpellStats::new).copyOnDeath().build()
+    );
+    
+    // How long each player has been standing in a bookshelf portal. Not saved.
+    public static final Supplier<AttachmentType<PortalState>> PORTAL_STATE = ATTACHMENT_TYPES.register(
+        "portal_state", () -> AttachmentType.builder(PortalState::new).build()
+    );
+}
@@ -1,179 +1,528 @@
 package com.example.examplemod;
 
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.abe.tutorialmod.word.FoundWords;
+import net.abe.tutorialmod.word.FuzzyMatcher;
+import net.abe.tutorialmod.word.LetterComponent;
+import net.abe.tutorialmod.word.LetterIndex;
+import net.abe.tutorialmod.word.LetterPlacers;
+import net.abe.tutorialmod.word.LetterRun;
+import net.abe.tutorialmod.word.LetterSource;
+import net.abe.tutorialmod.word.RewardSpawner;
+import net.abe.tutorialmod.word.SpellStats;
+import net.abe.tutorialmod.word.WordDictionary;
+import net.abe.tutorialmod.word.WordIds;
+import net.abe.tutorialmod.word.WordMatches;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.sounds.SoundEvents;
-import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Handles detection of spelled words and rewards players with items
  */
 public class WordDetectionSystem {
     
-    // Map of words to their reward items
-    private static final Map<String, ItemStack> WORD_REWARDS = new HashMap<>();
-    
-    static {
-        // Add word-to-item mappings here
-        // Simple words for a 4-year-old
-        WORD_REWARDS.put("wood", new ItemStack(Blocks.OAK_WOOD));
-        WORD_REWARDS.put("iron", new ItemStack(Items.IRON_INGOT));
-        WORD_REWARDS.put("gold", new ItemStack(Items.GOLD_INGOT));
-        WORD_REWARDS.put("coal", new ItemStack(Items.COAL));
-        WORD_REWARDS.put("stone", new ItemStack(Blocks.STONE));
-        WORD_REWARDS.put("grass", new ItemStack(Blocks.GRASS_BLOCK));
-        WORD_REWARDS.put("sand", new ItemStack(Blocks.SAND));
-        WORD_REWARDS.put("dirt", new ItemStack(Blocks.DIRT));
-        WORD_REWARDS.put("apple", new ItemStack(Items.APPLE));
-        WORD_REWARDS.put("bread", new ItemStack(Items.BREAD));
-        WORD_REWARDS.put("cake", new ItemStack(Items.CAKE));
-        WORD_REWARDS.put("fish", new ItemStack(Items.COOKED_COD));
-        WORD_REWARDS.put("egg", new ItemStack(Items.EGG));
-        WORD_REWARDS.put("bed", new ItemStack(Items.RED_BED));
-        WORD_REWARDS.put("book", new ItemStack(Items.BOOK));
-        WORD_REWARDS.put("bow", new ItemStack(Items.BOW));
-        WORD_REWARDS.put("axe", new ItemStack(Items.IRON_AXE));
-        WORD_REWARDS.put("sword", new ItemStack(Items.IRON_SWORD));
-        WORD_REWARDS.put("star", new ItemStack(Items.NETHER_STAR));
-        WORD_REWARDS.put("rose", new ItemStack(Blocks.POPPY));
-        WORD_REWARDS.put("cookie", new ItemStack(Items.COOKIE));
-        WORD_REWARDS.put("melon", new ItemStack(Items.MELON));
-        WORD_REWARDS.put("carrot", new ItemStack(Items.CARROT));
-        WORD_REWARDS.put("potato", new ItemStack(Items.POTATO));
-        WORD_REWARDS.put("pumpkin", new ItemStack(Blocks.PUMPKIN));
-        
-        // Animal words
-        WORD_REWARDS.put("cow", new ItemStack(Items.BEEF));
-        WORD_REWARDS.put("pig", new ItemStack(Items.PORKCHOP));
-        WORD_REWARDS.put("sheep", new ItemStack(Items.MUTTON));
-        WORD_REWARDS.put("chicken", new ItemStack(Items.CHICKEN));
-        
-        // Simple 3-letter words
-        WORD_REWARDS.put("cat", new ItemStack(Items.STRING)); // cats drop string
-        WORD_REWARDS.put("dog", new ItemStack(Items.BONE)); // dogs like bones
-        WORD_REWARDS.put("bat", new ItemStack(Items.PHANTOM_MEMBRANE));
-        WORD_REWARDS.put("bee", new ItemStack(Items.HONEYCOMB));
-        WORD_REWARDS.put("fox", new ItemStack(Items.SWEET_BERRIES));
-        WORD_REWARDS.put("ice", new ItemStack(Blocks.ICE));
-        WORD_REWARDS.put("sun", new ItemStack(Blocks.GLOWSTONE));
-        WORD_REWARDS.put("log", new ItemStack(Blocks.OAK_LOG));
-        WORD_REWARDS.put("gem", new ItemStack(Items.DIAMOND));
-    }
-    
-    /**
-     * Check for words in all directions when a block is placed
+    // Compiled dictionary of words and their reward items, loaded from datapack word lists.
+    // Swapped as a whole on reload so a scan never sees a half-built dictionary.
+    private static volatile WordDictionary dictionary = WordDictionary.compile(Map.of());
+    
+    // Words added from code with addWordReward, kept so they survive reloads
+    private static final Map<String, ItemStack> EXTRA_WORDS = new ConcurrentHashMap<>();
+    
+    // Bumped every time the dictionary is swapped, so a rebuild started from an older one knows to start over
+    private static long dictionaryVersion;
+    
+    // Set while a rebuild for added words is waiting to start; words added before it starts all go in that one
+    private static final AtomicBoolean REBUILD_QUEUED = new AtomicBoolean();
+    
+    // Reused for every scan so checking a run doesn't allocate
+    private static final LetterIndex.Lookup LETTERS = new LetterIndex.Lookup();
+    private static final LetterRun RUN = new LetterRun();
+    private static final WordMatches MATCHES = new WordMatches();
+    private static final LetterComponent COMPONENT = new LetterComponent();
+    private static final FoundWords FOUND = new FoundWords();
+    private static final FuzzyMatcher FUZZY = new FuzzyMatcher();
+    private static final LongOpenHashSet CLEARED = new LongOpenHashSet();
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+    
+    // The hint each player gets from the scan being rewarded, emptied afterwards so players aren't held on to
+    private static final Reference2IntOpenHashMap<Player> HINT_FOR = new Reference2IntOpenHashMap<>();
+    
+    // Cached because Direction.Axis.values() makes a new array every call
+    private static final Direction.Axis[] AXES = Direction.Axis.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    
+    // Each worker thread keeps its own fuzzy matcher, since they hold buffers sized to the dictionary
+    private static final ThreadLocal<FuzzyMatcher> WORKER_FUZZY = ThreadLocal.withInitial(FuzzyMatcher::new);
+    
+    // How far away a player can be and still get a spelling hint
+    private static final double HINT_RANGE = 16.0;
+    
+    /**
+     * Check for words in all directions right away.
+     * Placements normally go through {@link WordScanQueue} instead, which batches them per tick.
      */
     public static void checkForWords(Level level, BlockPos pos, Block placedBlock) {
         if (level.isClientSide || !AlphabetBlocks.isLetterBlock(placedBlock)) {
             return;
         }
         
-        // Check all 6 directions (horizontal and vertical)
-        Direction[] directions = Direction.values();
-        for (Direction direction : directions) {
-            checkWordInDirection(level, pos, direction);
+        // Each axis is read once - reading it backwards as well covers the opposite direction
+        List<LetterRun> batch = newBatch();
+        for (Direction.Axis axis : AXES) {
+            checkWordsOnAxis(level, pos, axis, null, batch);
+        }
+        if (batch != null) {
+            matchOffThread(level, batch);
         }
     }
     
     /**
-     * Check for a word in a specific direction
+     * Start a batch of runs to match together on a worker thread, or get null when matching on the server thread.
+     * Fill it with the checks below, then hand it to {@link #matchOffThread} once.
      */
-    private static void checkWordInDirection(Level level, BlockPos startPos, Direction direction) {
-        List<BlockPos> letterPositions = new ArrayList<>();
-        StringBuilder word = new StringBuilder();
-        
-        // Start from the furthest back position in this direction
-        BlockPos currentPos = startPos;
+    @Nullable
+    static List<LetterRun> newBatch() {
+        return Config.ASYNC_WORD_MATCHING.getAsBoolean() ? new ArrayList<>() : null;
+    }
+    
+    /**
+     * Check for words along one axis through a position.
+     * Every dictionary word inside the run is found, so "xcatx" still spells "cat".
+     * If scanned is given, every position in the run is added to it so the same run isn't read again.
+     * If batch is given, a copy of the run is added to it to be matched later instead.
+     */
+    static void checkWordsOnAxis(Level level, BlockPos origin, Direction.Axis axis, @Nullable LongSet scanned,
+                                 @Nullable List<LetterRun> batch) {
+        if (!RUN.read(LETTERS.bind(level), origin, axis)) {
+            return;
+        }
         
-        // Go backwards to find the start of the word
-        while (true) {
-            BlockPos backPos = currentPos.relative(direction.getOpposite());
-            Block backBlock = level.getBlockState(backPos).getBlock();
-            if (AlphabetBlocks.isLetterBlock(backBlock)) {
-                currentPos = backPos;
-            } else {
-                break;
+        if (scanned != null) {
+            for (int i = 0; i < RUN.length(); i++) {
+                scanned.add(RUN.position(i));
             }
         }
         
-        // Now read forwards to build the word
-        while (true) {
-            Block block = level.getBlockState(currentPos).getBlock();
-            if (AlphabetBlocks.isLetterBlock(block)) {
-                letterPositions.add(currentPos);
-                word.append(AlphabetBlocks.getLetterFromBlock(block));
-                currentPos = currentPos.relative(direction);
-            } else {
-                break;
+        if (batch != null) {
+            batch.add(RUN.copy());
+            return;
+        }
+        
+        WordDictionary words = dictionary;
+        FOUND.clear();
+        matchRun(RUN, words, hintDistance(words), MATCHES, FUZZY, FOUND);
+        rewardWords(level, FOUND, words);
+    }
+    
+    /**
+     * Crossword mode: check every row and column of the letter boards through a position.
+     * For each plane through the position the connected letters are collected (up to a configured size),
+     * each row and column in them is read once, and all the words found are rewarded together,
+     * so a letter shared by two words is only cleared once.
+     *
+     * @param scanned positions already read this tick, per run axis
+     * @param seen positions already collected this tick, per plane normal
+     * @param batch runs to match later, or null to match and reward them now
+     */
+    static void checkCrossword(Level level, BlockPos origin, LongSet[] scanned, LongSet[] seen, @Nullable List<LetterRun> batch) {
+        LetterSource letters = LETTERS.bind(level);
+        WordDictionary words = dictionary;
+        int maxSize = Config.CROSSWORD_MAX_LETTERS.getAsInt();
+        int hintDistance = hintDistance(words);
+        FOUND.clear();
+        
+        for (Direction.Axis normal : AXES) {
+            // Another placement this tick already covered this board
+            if (seen[normal.ordinal()].contains(origin.asLong())) {
+                continue;
+            }
+            if (!COMPONENT.collect(letters, origin, normal, maxSize, seen[normal.ordinal()])) {
+                return;
+            }
+            
+            for (Direction.Axis axis : AXES) {
+                if (axis == normal) {
+                    continue;
+                }
+                
+                LongSet axisScanned = scanned[axis.ordinal()];
+                for (int i = 0; i < COMPONENT.size(); i++) {
+                    long pos = COMPONENT.position(i);
+                    if (axisScanned.contains(pos) || !RUN.read(letters, CURSOR.set(pos), axis)) {
+                        continue;
+                    }
+                    for (int j = 0; j < RUN.length(); j++) {
+                        axisScanned.add(RUN.position(j));
+                    }
+                    if (batch != null) {
+                        batch.add(RUN.copy());
+                    } else {
+                        matchRun(RUN, words, hintDistance, MATCHES, FUZZY, FOUND);
+                    }
+                }
             }
         }
         
-        // Check if we found a valid word (at least 2 letters)
-        if (word.length() >= 2) {
-            String wordStr = word.toString().toLowerCase();
-            if (WORD_REWARDS.containsKey(wordStr)) {
-                rewardWord(level, letterPositions, wordStr);
+        if (batch == null) {
+            rewardWords(level, FOUND, words);
+        }
+    }
+    
+    /**
+     * Match snapshots of letter runs on a worker thread, then reward the words back on the server thread.
+     * Only the copied letters and positions leave the server thread; the reward step re-checks the blocks
+     * before clearing anything, since they may have changed in the meantime.
+     */
+    static void matchOffThread(Level level, List<LetterRun> runs) {
+        if (runs.isEmpty() || !(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        
+        WordDictionary words = dictionary;
+        int hintDistance = hintDistance(words);
+        MinecraftServer server = serverLevel.getServer();
+        ResourceKey<Level> dimension = serverLevel.dimension();
+        
+        CompletableFuture.supplyAsync(() -> findWords(runs, words, hintDistance), Util.backgroundExecutor())
+            .thenAcceptAsync(found -> {
+                ServerLevel target = server.getLevel(dimension);
+                if (target != null) {
+                    rewardWords(target, found, words);
+                }
+            }, server)
+            .exceptionally(e -> {
+                ExampleMod.LOGGER.error("Word matching failed", e);
+                return null;
+            });
+    }
+    
+    /**
+     * Find the words in a batch of runs. Safe to call from any thread.
+     */
+    private static FoundWords findWords(List<LetterRun> runs, WordDictionary words, int hintDistance) {
+        WordMatches matches = new WordMatches();
+        FuzzyMatcher fuzzy = WORKER_FUZZY.get();
+        FoundWords found = new FoundWords();
+        for (LetterRun run : runs) {
+            matchRun(run, words, hintDistance, matches, fuzzy, found);
+        }
+        return found;
+    }
+    
+    /**
+     * Find the words in one run and add them to found.
+     * If the run spells nothing, the closest word within hintDistance edits is added as a hint instead.
+     */
+    private static void matchRun(LetterRun run, WordDictionary words, int hintDistance,
+                                 WordMatches matches, FuzzyMatcher fuzzy, FoundWords found) {
+        run.findWords(words, matches);
+        found.addAll(run, matches);
+        
+        if (matches.size() == 0 && hintDistance > 0) {
+            int hint = fuzzy.closest(words, run, hintDistance);
+            if (hint >= 0) {
+                found.addHint(run.position(run.length() / 2), hint);
             }
         }
     }
     
     /**
-     * Reward the player for spelling a word correctly
+     * How many edits a spelling hint may be off by, or 0 when hints are off.
+     * Hints are also off until the dictionary's fuzzy index is built, which starts off-thread the first time
+     * one is wanted, as after hints are turned on while the server runs.
+     */
+    private static int hintDistance(WordDictionary words) {
+        if (!Config.FUZZY_WORD_HINTS.getAsBoolean() || !words.isFuzzyIndexReady(Util.backgroundExecutor())) {
+            return 0;
+        }
+        return Config.FUZZY_MAX_DISTANCE.getAsInt();
+    }
+    
+    /**
+     * Reward the player for every word found. Must run on the server thread.
+     * All words are checked before anything is cleared, so words sharing letters are all rewarded.
      */
-    private static void rewardWord(Level level, List<BlockPos> positions, String word) {
+    private static void rewardWords(Level level, FoundWords found, WordDictionary words) {
         if (!(level instanceof ServerLevel serverLevel)) {
             return;
         }
         
-        // Calculate center position for spawning the reward
-        BlockPos centerPos = positions.get(positions.size() / 2);
+        sendHints(serverLevel, found, words);
+        if (found.isEmpty()) {
+            return;
+        }
+        
+        // The letter index can fall behind blocks changed by commands or other mods,
+        // so make sure the letters are really there before handing out anything
+        for (int word = 0; word < found.size(); word++) {
+            for (int i = found.letterStart(word); i < found.letterEnd(word); i++) {
+                CURSOR.set(found.position(i));
+                char actual = AlphabetBlocks.getLetterFromBlock(level.getBlockState(CURSOR).getBlock());
+                if (actual != found.letter(i)) {
+                    LetterIndex.update(level, CURSOR, actual);
+                    found.skip(word);
+                    break;
+                }
+            }
+        }
+        
+        // Credit the spellers first - clearing the letters forgets who placed them
+        for (int word = 0; word < found.size(); word++) {
+            if (!found.isSkipped(word)) {
+                recordSpelling(serverLevel, found, word, words);
+            }
+        }
+        
+        // Clear every letter of every rewarded word together, so crossing words share one pass
+        CLEARED.clear();
+        for (int word = 0; word < found.size(); word++) {
+            if (!found.isSkipped(word)) {
+                for (int i = found.letterStart(word); i < found.letterEnd(word); i++) {
+                    CLEARED.add(found.position(i));
+                }
+            }
+        }
+        clearLetters(serverLevel, CLEARED);
+        
+        for (int word = 0; word < found.size(); word++) {
+            if (!found.isSkipped(word)) {
+                rewardWord(level, found, word, words);
+            }
+        }
+    }
+    
+    /**
+     * Add a word to the stats of the player who placed its last letter.
+     * The time taken runs from the word's first placed letter to its last.
+     */
+    private static void recordSpelling(ServerLevel level, FoundWords found, int word, WordDictionary words) {
+        LetterPlacers.Placement last = null;
+        long firstTime = Long.MAX_VALUE;
+        for (int i = found.letterStart(word); i < found.letterEnd(word); i++) {
+            LetterPlacers.Placement placement = LetterPlacers.get(level, found.position(i));
+            if (placement != null) {
+                firstTime = Math.min(firstTime, placement.gameTime());
+                if (last == null || placement.gameTime() >= last.gameTime()) {
+                    last = placement;
+                }
+            }
+        }
+        if (last == null) {
+            return;
+        }
         
-        // Remove all letter blocks
-        for (BlockPos pos : positions) {
-            level.setBlock(pos, Blocks.AIR.defaultBlockState(), 3);
+        ServerPlayer player = level.getServer().getPlayerList().getPlayer(last.player());
+        if (player == null) {
+            return;
+        }
+        String text = words.getWord(found.wordId(word));
+        SpellStats stats = player.getData(ModAttachments.SPELL_STATS);
+        stats.recordWord(WordIds.get(level.getServer()).intern(text), text.length(), last.gameTime() - firstTime);
+    }
+    
+    /**
+     * Tell the nearest player which word a misspelled run was closest to.
+     * The action bar only shows one message, so a player near several misspelled runs, like the rows
+     * of a crossword board, only hears about the one closest to them.
+     */
+    private static void sendHints(ServerLevel level, FoundWords found, WordDictionary words) {
+        if (found.hintCount() == 0) {
+            return;
         }
         
-        // Spawn the reward item
-        ItemStack reward = WORD_REWARDS.get(word).copy();
-        ItemEntity itemEntity = new ItemEntity(
-            level,
-            centerPos.getX() + 0.5,
-            centerPos.getY() + 0.5,
-            centerPos.getZ() + 0.5,
-            reward
-        );
-        itemEntity.setDefaultPickUpDelay();
-        level.addFreshEntity(itemEntity);
+        for (int i = 0; i < found.hintCount(); i++) {
+            CURSOR.set(found.hintPosition(i));
+            Player player = level.getNearestPlayer(CURSOR.getX() + 0.5, CURSOR.getY() + 0.5, CURSOR.getZ() + 0.5, HINT_RANGE, false);
+            if (player == null) {
+                continue;
+            }
+            int best = HINT_FOR.getOrDefault(player, -1);
+            if (best < 0 || distanceToHint(player, found, i) < distanceToHint(player, found, best)) {
+                HINT_FOR.put(player, i);
+            }
+        }
         
-        // Play success sound
-        level.playSound(
-            null,
-            centerPos,
-            SoundEvents.PLAYER_LEVELUP,
-            SoundSource.BLOCKS,
-            1.0f,
-            1.0f
-        );
+        for (Reference2IntMap.Entry<Player> hint : HINT_FOR.reference2IntEntrySet()) {
+            String word = words.getWord(found.hintWordId(hint.getIntValue()));
+            hint.getKey().displayClientMessage(Component.literal("Did you mean \"" + word + "\"?"), true);
+        }
+        HINT_FOR.clear();
+    }
+    
+    private static double distanceToHint(Player player, FoundWords found, int hint) {
+        CURSOR.set(found.hintPosition(hint));
+        return player.distanceToSqr(CURSOR.getX() + 0.5, CURSOR.getY() + 0.5, CURSOR.getZ() + 0.5);
+    }
+    
+    /**
+     * Remove a set of letter blocks in one pass.
+     * Blocks are written straight into their chunks in section order rather than through setBlock one by one,
+     * so clients get one update per changed section, lighting is checked in one batch,
+     * and neighbor updates only go to blocks outside the cleared set.
+     */
+    private static void clearLetters(ServerLevel level, LongSet positions) {
+        long[] sorted = positions.toLongArray();
+        LongArrays.quickSort(sorted, (a, b) -> Long.compare(SectionPos.blockToSection(a), SectionPos.blockToSection(b)));
         
-        ExampleMod.LOGGER.info("Player spelled word: {} and received reward!", word);
+        BlockState air = Blocks.AIR.defaultBlockState();
+        ServerChunkCache chunks = level.getChunkSource();
+        LevelChunk chunk = null;
+        for (long packed : sorted) {
+            CURSOR.set(packed);
+            if (chunk == null || chunk.getPos().x != SectionPos.blockToSectionCoord(CURSOR.getX())
+                || chunk.getPos().z != SectionPos.blockToSectionCoord(CURSOR.getZ())) {
+                chunk = level.getChunkAt(CURSOR);
+            }
+            
+            // The chunk holder collects these into one section packet per section, sent at the end of the tick
+            if (chunk.setBlockState(CURSOR, air, false) != null) {
+                chunks.getLightEngine().checkBlock(CURSOR);
+                chunks.blockChanged(CURSOR);
+            }
+        }
+        
+        // Letters next to each other don't need telling, but everything around the word does
+        for (long packed : sorted) {
+            for (Direction direction : DIRECTIONS) {
+                long neighbor = BlockPos.offset(packed, direction);
+                if (positions.contains(neighbor)) {
+                    continue;
+                }
+                BlockPos from = BlockPos.of(packed);
+                BlockPos to = BlockPos.of(neighbor);
+                level.neighborShapeChanged(direction.getOpposite(), air, to, from, Block.UPDATE_ALL, Block.UPDATE_LIMIT);
+                level.neighborChanged(to, Blocks.AIR, from);
+            }
+        }
     }
     
     /**
-     * Add a custom word-to-item mapping
+     * Reward the player for spelling a word correctly.
+     * The letters must already be cleared; the reward drops at the end of the tick with any others on the same spot.
+     */
+    private static void rewardWord(Level level, FoundWords found, int word, WordDictionary words) {
+        int start = found.letterStart(word);
+        int end = found.letterEnd(word);
+        int wordId = found.wordId(word);
+        
+        // Calculate center position for spawning the reward
+        BlockPos centerPos = BlockPos.of(found.position(start + (end - start) / 2));
+        RewardSpawner.add(level, centerPos, words.getReward(wordId));
+        
+        ExampleMod.LOGGER.info("Player spelled word: {} and received reward!", words.getWord(wordId));
+    }
+    
+    /**
+     * Add a custom word-to-item mapping.
+     * The dictionary is rebuilt on a worker thread and swapped in when done, so the word takes effect shortly after;
+     * words added together, like a mod's whole list at startup, share one rebuild.
      */
     public static void addWordReward(String word, ItemStack reward) {
-        WORD_REWARDS.put(word.toLowerCase(), reward);
+        EXTRA_WORDS.put(word.toLowerCase(Locale.ROOT), reward.copy());
+        queueRebuild();
+    }
+    
+    private static void queueRebuild() {
+        if (REBUILD_QUEUED.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(WordDetectionSystem::rebuildWithExtraWords, Util.backgroundExecutor())
+                .exceptionally(e -> {
+                    ExampleMod.LOGGER.error("Rebuilding the word dictionary failed", e);
+                    return null;
+                });
+        }
+    }
+    
+    /**
+     * Merge the words added from code into the current dictionary, off the server thread.
+     * If the dictionary is swapped meanwhile, as by a datapack reload, the merge starts over from the new one.
+     */
+    private static void rebuildWithExtraWords() {
+        // Cleared first, so a word added from here on queues another rebuild rather than being missed
+        REBUILD_QUEUED.set(false);
+        while (true) {
+            WordDictionary base;
+            long version;
+            synchronized (WordDetectionSystem.class) {
+                base = dictionary;
+                version = dictionaryVersion;
+            }
+            
+            Map<String, ItemStack> words = base.toMap();
+            words.putAll(EXTRA_WORDS);
+            WordDictionary rebuilt = WordDictionary.compile(words);
+            
+            // Words can be added during mod loading, before the config is read
+            if (Config.SPEC.isLoaded() && Config.FUZZY_WORD_HINTS.getAsBoolean()) {
+                rebuilt.fuzzyIndex();
+            }
+            
+            synchronized (WordDetectionSystem.class) {
+                if (dictionaryVersion == version) {
+                    dictionary = rebuilt;
+                    dictionaryVersion++;
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get the dictionary currently used for word checks
+     */
+    public static WordDictionary getDictionary() {
+        return dictionary;
+    }
+    
+    /**
+     * Replace the dictionary, e.g. after a datapack reload
+     */
+    public static void setDictionary(WordDictionary newDictionary) {
+        synchronized (WordDetectionSystem.class) {
+            dictionary = newDictionary;
+            dictionaryVersion++;
+        }
+        
+        // Words added from code while it was being built aren't in it yet
+        for (String word : EXTRA_WORDS.keySet()) {
+            if (WordDictionary.isValidWord(word) && newDictionary.indexOf(word) < 0) {
+                queueRebuild();
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Get the words added from code, to be merged into every reload
+     */
+    public static Map<String, ItemStack> getExtraWords() {
+        return Map.copyOf(EXTRA_WORDS);
     }
 }
@@ -0,0 +1,110 @@
+package net.abe.tutorialmod;
+
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.abe.tutorialmod.word.LetterRun;
+import net.abe.tutorialmod.word.RewardSpawner;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects letter placements during a tick and checks them for words once, at the end of the tick.
+ * Letters placed in the same line in one tick only cost one scan of that line,
+ * and if a tick runs out of budget the rest carry over to the next one.
+ */
+@EventBusSubscriber(modid = TutorialMod.MODID)
+public class WordScanQueue {
+    
+    // Letter positions waiting to be checked, per dimension, in placement order
+    private static final Map<ResourceKey<Level>, LongLinkedOpenHashSet> PENDING = new HashMap<>();
+    
+    // Positions already covered by a run scanned this tick, one set per axis
+    private static final LongOpenHashSet[] SCANNED = {
+        new LongOpenHashSet(), new LongOpenHashSet(), new LongOpenHashSet()
+    };
+    
+    // Crossword mode: positions already part of a board checked this tick, one set per plane normal
+    private static final LongOpenHashSet[] SEEN = {
+        new LongOpenHashSet(), new LongOpenHashSet(), new LongOpenHashSet()
+    };
+    
+    // Cached because Direction.Axis.values() makes a new array every call
+    private static final Direction.Axis[] AXES = Direction.Axis.values();
+    
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+    
+    /**
+     * Queue a letter position to be checked for words at the end of this tick
+     */
+    public static void enqueue(Level level, BlockPos pos) {
+        if (level.isClientSide) {
+            return;
+        }
+        PENDING.computeIfAbsent(level.dimension(), key -> new LongLinkedOpenHashSet()).add(pos.asLong());
+    }
+    
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        
+        LongLinkedOpenHashSet pending = PENDING.get(level.dimension());
+        if (pending != null && !pending.isEmpty()) {
+            scanPending(level, pending);
+        }
+        
+        // Drop this tick's rewards, including any from matches that finished off-thread since the last tick
+        RewardSpawner.flush(level);
+    }
+    
+    /**
+     * Check queued positions until the queue is empty or this tick's budget is spent.
+     * When matching off-thread, every run read goes to the worker in one batch for the level.
+     */
+    private static void scanPending(ServerLevel level, LongLinkedOpenHashSet pending) {
+        long deadline = System.nanoTime() + Config.WORD_SCAN_BUDGET_MICROS.getAsInt() * 1000L;
+        boolean crossword = Config.CROSSWORD_MODE.getAsBoolean();
+        List<LetterRun> batch = WordDetectionSystem.newBatch();
+        for (int i = 0; i < AXES.length; i++) {
+            SCANNED[i].clear();
+            SEEN[i].clear();
+        }
+        
+        // Always make progress on at least one position, even if the budget is tiny
+        do {
+            CURSOR.set(pending.removeFirstLong());
+            if (crossword) {
+                WordDetectionSystem.checkCrossword(level, CURSOR, SCANNED, SEEN, batch);
+            } else {
+                for (Direction.Axis axis : AXES) {
+                    LongOpenHashSet scanned = SCANNED[axis.ordinal()];
+                    if (!scanned.contains(CURSOR.asLong())) {
+                        WordDetectionSystem.checkWordsOnAxis(level, CURSOR, axis, scanned, batch);
+                    }
+                }
+            }
+        } while (!pending.isEmpty() && System.nanoTime() < deadline);
+        
+        if (batch != null) {
+            WordDetectionSystem.matchOffThread(level, batch);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PENDING.clear();
+        RewardSpawner.clear();
+    }
+}
@@ -13,10 +13,7 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
-import net.neoforged.neoforge.registries.DeferredItem;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -27,39 +24,6 @@ public class LetterWandItem extends Item {
     
     private static final Random RANDOM = new Random();
     
-    // List of all letter block items
-    private static final List<DeferredItem<?>> LETTER_ITEMS = new ArrayList<>();
-    
-    static {
-        // Add all 26 letter block items to the list
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_A);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_B);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_C);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_D);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_E);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_F);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_G);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_H);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_I);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_J);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_K);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_L);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_M);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_N);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_O);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_P);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_Q);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_R);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_S);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_T);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_U);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_V);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_W);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_X);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_Y);
-        LETTER_ITEMS.add(AlphabetBlocks.ITEM_Z);
-    }
-    
     public LetterWandItem(Properties properties) {
         super(properties);
     }
@@ -100,8 +64,8 @@ public class LetterWandItem extends Item {
         
         for (int i = 0; i < 10; i++) {
             // Pick a random letter block
-            DeferredItem<?> randomLetterItem = LETTER_ITEMS.get(RANDOM.nextInt(LETTER_ITEMS.size()));
-            ItemStack letterStack = new ItemStack(randomLetterItem.get());
+            char randomLetter = (char) ('a' + RANDOM.nextInt(AlphabetBlocks.LETTER_COUNT));
+            ItemStack letterStack = new ItemStack(AlphabetBlocks.getBlockForLetter(randomLetter));
             
             // Create the item entity
             ItemEntity itemEntity = new ItemEntity(
@@ -1,44 +1,64 @@
 package net.abe.tutorialmod.portal;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.abe.tutorialmod.Config;
 import net.abe.tutorialmod.TutorialMod;
-import net.abe.tutorialmod.dimension.LetterverseDimension;
+import net.abe.tutorialmod.worldgen.StructureStamp;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.portal.DimensionTransition;
-import net.minecraft.world.phys.Vec3;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.tick.LevelTickEvent;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Automatically lights bookshelf portals when the frame is completed!
- * Prevents portal from breaking by continuously maintaining it.
+ * Prevents portal from breaking by relighting it whenever a block in its frame or interior changes.
+ * Lit portals are kept in each dimension's {@link PortalRegistry}, so they are still maintained after a restart.
+ * Nothing is checked while nothing around a portal changes.
  */
 @EventBusSubscriber(modid = TutorialMod.MODID)
 public class AutoPortalActivator {
     
-    private static final int PORTAL_WIDTH = 4;
-    private static final int PORTAL_HEIGHT = 5;
+    // Size of the return portals the mod builds, and of portals saved before frame sizes were stored
+    static final int PORTAL_WIDTH = 4;
+    static final int PORTAL_HEIGHT = 5;
     
-    // Track active portal positions to maintain them
-    private static final Set<BlockPos> ACTIVE_PORTALS = new HashSet<>();
+    // Built once and stamped in a batch on every trip that needs them, rather than placed block by block
+    private static final StructureStamp SPAWN_PLATFORM = buildSpawnPlatform();
+    private static final StructureStamp RETURN_PORTAL = buildReturnPortal();
+    
+    // Corners of portals to re-check at the end of the tick, per dimension
+    private static final Map<ResourceKey<Level>, LongOpenHashSet> DIRTY = new HashMap<>();
+    
+    // Portals held up by the bookshelf being broken
+    private static final List<PortalRegistry.Portal> BROKEN = new ArrayList<>();
     
     @SubscribeEvent
     public static void onBlockPlace(BlockEvent.EntityPlaceEvent event) {
         Level level = (Level) event.getLevel();
         BlockPos pos = event.getPos();
         
+        // The server decides which portals light, and the frame finder's scratch space is only for its thread
+        if (level.isClientSide()) {
+            return;
+        }
+        
         // Only check if a bookshelf was placed
         if (event.getPlacedBlock().is(Blocks.BOOKSHELF)) {
             // Check if this completes a portal frame
@@ -52,67 +72,91 @@ public class AutoPortalActivator {
         BlockPos pos = event.getPos();
         
         // If a bookshelf is broken, remove any portals that depended on it
-        if (level.getBlockState(pos).is(Blocks.BOOKSHELF)) {
-            extinguishNearbyPortals(level, pos);
+        if (level instanceof ServerLevel serverLevel && level.getBlockState(pos).is(Blocks.BOOKSHELF)) {
+            extinguishPortalsAt(serverLevel, pos);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        // Fires for every block update, so the common case is a single chunk lookup that finds nothing
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            PortalRegistry registry = PortalRegistry.get(serverLevel);
+            registry.forEachPortalAt(event.getPos(), portal -> markDirty(serverLevel, portal));
+            
+            // A portal block known not to be ours has gone or been replaced, so look at whatever is there afresh
+            registry.forgetOtherPortal(event.getPos());
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        // Blocks may have changed while the chunk was unloaded, or it's the first load since a restart
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            PortalRegistry.get(serverLevel).forEachPortalInChunk(event.getChunk().getPos(), portal -> markDirty(serverLevel, portal));
         }
     }
     
     @SubscribeEvent
     public static void onLevelTick(LevelTickEvent.Post event) {
         if (event.getLevel() instanceof ServerLevel serverLevel) {
-            // Every 20 ticks (1 second), check and maintain active portals
-            if (serverLevel.getGameTime() % 20 == 0) {
-                maintainPortals(serverLevel);
+            LongOpenHashSet dirty = DIRTY.get(serverLevel.dimension());
+            if (dirty != null && !dirty.isEmpty()) {
+                maintainPortals(serverLevel, dirty);
             }
         }
     }
     
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        DIRTY.clear();
+        PortalRegistry.clearLoaded();
+    }
+    
+    private static void markDirty(ServerLevel level, PortalRegistry.Portal portal) {
+        DIRTY.computeIfAbsent(level.dimension(), key -> new LongOpenHashSet()).add(portal.corner().asLong());
+    }
+    
     /**
-     * Maintain all active portals by relighting them if needed
+     * Re-check the portals something changed around this tick, relighting them if needed.
+     * Portals not fully loaded are left alone; they are checked again when their chunks load.
      */
-    private static void maintainPortals(ServerLevel level) {
-        Set<BlockPos> toRemove = new HashSet<>();
+    private static void maintainPortals(ServerLevel level, LongOpenHashSet dirty) {
+        PortalRegistry registry = PortalRegistry.get(level);
         
-        for (BlockPos portalCorner : ACTIVE_PORTALS) {
-            // Check both orientations
-            boolean stillValid = false;
-            Direction validFacing = null;
-            
-            if (isValidPortalFrame(level, portalCorner, Direction.NORTH)) {
-                stillValid = true;
-                validFacing = Direction.NORTH;
-            } else if (isValidPortalFrame(level, portalCorner, Direction.EAST)) {
-                stillValid = true;
-                validFacing = Direction.EAST;
+        // Relighting can knock out portal blocks and mark portals again; those wait for the next tick
+        long[] corners = dirty.toLongArray();
+        dirty.clear();
+        
+        for (long packed : corners) {
+            BlockPos corner = BlockPos.of(packed);
+            PortalRegistry.Portal portal = registry.get(corner);
+            if (portal == null || !level.hasChunksAt(corner, portal.farCorner())) {
+                continue;
             }
             
-            if (stillValid) {
+            if (isValidPortalFrame(level, corner, portal.facing(), portal.width(), portal.height())) {
                 // Relight the portal if any blocks are missing
-                relightIfNeeded(level, portalCorner, validFacing);
+                relightIfNeeded(level, corner, portal.facing(), portal.width(), portal.height());
             } else {
-                // Frame is broken, mark for removal
-                toRemove.add(portalCorner);
+                // Frame is broken
+                registry.remove(corner);
             }
         }
-        
-        // Remove invalid portals
-        ACTIVE_PORTALS.removeAll(toRemove);
     }
     
     /**
      * Relight portal blocks if they've disappeared
      */
-    private static void relightIfNeeded(ServerLevel level, BlockPos corner, Direction facing) {
+    static void relightIfNeeded(ServerLevel level, BlockPos corner, Direction facing, int width, int height) {
         Direction right = facing.getClockWise();
-        Direction.Axis axis = (facing == Direction.NORTH || facing == Direction.SOUTH) 
-            ? Direction.Axis.X 
-            : Direction.Axis.Z;
+        Direction.Axis axis = axisFor(facing);
         
         boolean anyMissing = false;
         
         // Check if any portal blocks are missing
-        for (int x = 1; x < PORTAL_WIDTH - 1; x++) {
-            for (int y = 1; y < PORTAL_HEIGHT - 1; y++) {
+        for (int x = 1; x < width - 1; x++) {
+            for (int y = 1; y < height - 1; y++) {
                 BlockPos pos = corner.relative(right, x).above(y);
                 if (!level.getBlockState(pos).is(Blocks.NETHER_PORTAL)) {
                     anyMissing = true;
@@ -124,8 +168,8 @@ public class AutoPortalActivator {
         
         // Relight if needed
         if (anyMissing) {
-            for (int x = 1; x < PORTAL_WIDTH - 1; x++) {
-                for (int y = 1; y < PORTAL_HEIGHT - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                for (int y = 1; y < height - 1; y++) {
                     BlockPos pos = corner.relative(right, x).above(y);
                     BlockState portalState = Blocks.NETHER_PORTAL.defaultBlockState()
                         .setValue(net.minecraft.world.level.block.NetherPortalBlock.AXIS, axis);
@@ -136,54 +180,65 @@ public class AutoPortalActivator {
     }
     
     /**
-     * Extinguish any portals that no longer have a valid frame
+     * Put out the portals whose frame includes a broken bookshelf.
+     * Only portals registered in the bookshelf's chunk are looked at, and only the interiors of those it holds up
+     * are cleared, so nether portals and other bookshelf portals nearby are left alone.
      */
-    private static void extinguishNearbyPortals(Level level, BlockPos brokenBookshelf) {
-        // Search for portal blocks nearby and remove them
-        for (int dx = -4; dx <= 4; dx++) {
-            for (int dy = -5; dy <= 5; dy++) {
-                for (int dz = -4; dz <= 4; dz++) {
-                    BlockPos checkPos = brokenBookshelf.offset(dx, dy, dz);
-                    if (level.getBlockState(checkPos).is(Blocks.NETHER_PORTAL)) {
-                        level.setBlock(checkPos, Blocks.AIR.defaultBlockState(), 3);
+    private static void extinguishPortalsAt(ServerLevel level, BlockPos brokenBookshelf) {
+        PortalRegistry registry = PortalRegistry.get(level);
+        registry.forEachPortalAt(brokenBookshelf, portal -> {
+            if (portal.isFrame(brokenBookshelf)) {
+                BROKEN.add(portal);
+            }
+        });
+        if (BROKEN.isEmpty()) {
+            return;
+        }
+        
+        // Collected first, since removing portals changes the index being walked
+        for (PortalRegistry.Portal portal : BROKEN) {
+            registry.remove(portal.corner());
+            
+            Direction right = portal.right();
+            for (int x = 1; x < portal.width() - 1; x++) {
+                for (int y = 1; y < portal.height() - 1; y++) {
+                    BlockPos pos = portal.corner().relative(right, x).above(y);
+                    if (level.getBlockState(pos).is(Blocks.NETHER_PORTAL)) {
+                        level.setBlock(pos, Blocks.AIR.defaultBlockState(), 3);
                     }
                 }
             }
+            TutorialMod.LOGGER.info("Extinguished {}x{} portal at {}", portal.width(), portal.height(), portal.corner());
         }
-        
-        // Remove from active portals list
-        ACTIVE_PORTALS.removeIf(pos -> pos.closerThan(brokenBookshelf, 10));
+        BROKEN.clear();
     }
     
     /**
-     * Check all nearby positions to see if a portal frame was completed
+     * Light the first portal frame the placed bookshelf completes, of any size the config allows
      */
     private static void checkAndLightPortal(Level level, BlockPos placedPos) {
-        // Search area around the placed bookshelf
-        for (int dx = -4; dx <= 4; dx++) {
-            for (int dy = -5; dy <= 5; dy++) {
-                for (int dz = -4; dz <= 4; dz++) {
-                    BlockPos testPos = placedPos.offset(dx, dy, dz);
-                    
-                    // Try both orientations
-                    if (tryLightPortal(level, testPos, Direction.NORTH) ||
-                        tryLightPortal(level, testPos, Direction.EAST)) {
-                        return; // Portal lit, we're done!
-                    }
-                }
-            }
-        }
+        PortalFrameFinder.forEachFrame(level, placedPos,
+            Config.PORTAL_MIN_WIDTH.getAsInt(), Config.PORTAL_MIN_HEIGHT.getAsInt(),
+            Config.PORTAL_MAX_WIDTH.getAsInt(), Config.PORTAL_MAX_HEIGHT.getAsInt(),
+            (corner, facing, width, height) -> tryLightPortal(level, corner, facing, width, height));
     }
     
     /**
-     * Try to light a portal with given corner and orientation
+     * Try to light a portal in a frame already known to be complete
      */
-    private static boolean tryLightPortal(Level level, BlockPos corner, Direction facing) {
-        if (isValidPortalFrame(level, corner, facing) && !isAlreadyLit(level, corner, facing)) {
-            lightPortal(level, corner, facing);
+    private static boolean tryLightPortal(Level level, BlockPos corner, Direction facing, int width, int height) {
+        // A portal already registered at this corner is lit, or will be relit at the end of the tick
+        if (level instanceof ServerLevel serverLevel && PortalRegistry.get(serverLevel).get(corner) != null) {
+            return false;
+        }
+        
+        if (!isAlreadyLit(level, corner, facing, width, height)) {
+            lightPortal(level, corner, facing, width, height);
             
-            // Add to active portals list for maintenance
-            ACTIVE_PORTALS.add(corner.immutable());
+            // Add to this level's portals for maintenance
+            if (level instanceof ServerLevel serverLevel) {
+                PortalRegistry.get(serverLevel).add(corner, axisFor(facing), width, height);
+            }
             
             // Play activation sound
             level.playSound(
@@ -195,21 +250,26 @@ public class AutoPortalActivator {
                 1.0f
             );
             
-            TutorialMod.LOGGER.info("Auto-lit portal at {} facing {} - Added to maintenance list", corner, facing);
+            TutorialMod.LOGGER.info("Auto-lit {}x{} portal at {} facing {} - Added to maintenance list", width, height, corner, facing);
             return true;
         }
+        
+        // Lit but not registered, like portals from before portals were saved - register it so it's maintained and usable
+        if (level instanceof ServerLevel serverLevel) {
+            PortalRegistry.get(serverLevel).add(corner, axisFor(facing), width, height);
+        }
         return false;
     }
     
     /**
      * Check if portal is already lit
      */
-    private static boolean isAlreadyLit(Level level, BlockPos corner, Direction facing) {
+    private static boolean isAlreadyLit(Level level, BlockPos corner, Direction facing, int width, int height) {
         Direction right = facing.getClockWise();
         
         // Check if any portal blocks exist in the frame
-        for (int x = 1; x < PORTAL_WIDTH - 1; x++) {
-            for (int y = 1; y < PORTAL_HEIGHT - 1; y++) {
+        for (int x = 1; x < width - 1; x++) {
+            for (int y = 1; y < height - 1; y++) {
                 BlockPos pos = corner.relative(right, x).above(y);
                 if (level.getBlockState(pos).is(Blocks.NETHER_PORTAL)) {
                     return true;
@@ -220,13 +280,13 @@ public class AutoPortalActivator {
     }
     
     /**
-     * Check if there's a valid 4x5 bookshelf frame at this position
+     * Check if there's a valid bookshelf frame of a given size at this position
      */
-    private static boolean isValidPortalFrame(Level level, BlockPos corner, Direction facing) {
+    static boolean isValidPortalFrame(BlockGetter level, BlockPos corner, Direction facing, int width, int height) {
         Direction right = facing.getClockWise();
         
         // Check bottom row (4 bookshelves)
-        for (int i = 0; i < PORTAL_WIDTH; i++) {
+        for (int i = 0; i < width; i++) {
             BlockPos pos = corner.relative(right, i);
             if (!level.getBlockState(pos).is(Blocks.BOOKSHELF)) {
                 return false;
@@ -234,15 +294,15 @@ public class AutoPortalActivator {
         }
         
         // Check top row (4 bookshelves)
-        for (int i = 0; i < PORTAL_WIDTH; i++) {
-            BlockPos pos = corner.relative(right, i).above(PORTAL_HEIGHT - 1);
+        for (int i = 0; i < width; i++) {
+            BlockPos pos = corner.relative(right, i).above(height - 1);
             if (!level.getBlockState(pos).is(Blocks.BOOKSHELF)) {
                 return false;
             }
         }
         
         // Check left side (3 middle bookshelves)
-        for (int i = 1; i < PORTAL_HEIGHT - 1; i++) {
+        for (int i = 1; i < height - 1; i++) {
             BlockPos pos = corner.above(i);
             if (!level.getBlockState(pos).is(Blocks.BOOKSHELF)) {
                 return false;
@@ -250,16 +310,16 @@ public class AutoPortalActivator {
         }
         
         // Check right side (3 middle bookshelves)
-        for (int i = 1; i < PORTAL_HEIGHT - 1; i++) {
-            BlockPos pos = corner.relative(right, PORTAL_WIDTH - 1).above(i);
+        for (int i = 1; i < height - 1; i++) {
+            BlockPos pos = corner.relative(right, width - 1).above(i);
             if (!level.getBlockState(pos).is(Blocks.BOOKSHELF)) {
                 return false;
             }
         }
         
         // Check that the inside is empty or has portal blocks
-        for (int x = 1; x < PORTAL_WIDTH - 1; x++) {
-            for (int y = 1; y < PORTAL_HEIGHT - 1; y++) {
+        for (int x = 1; x < width - 1; x++) {
+            for (int y = 1; y < height - 1; y++) {
                 BlockPos pos = corner.relative(right, x).above(y);
                 BlockState state = level.getBlockState(pos);
                 if (!state.isAir() && !state.is(Blocks.NETHER_PORTAL)) {
@@ -271,20 +331,27 @@ public class AutoPortalActivator {
         return true;
     }
     
+    /**
+     * Get the axis the portal blocks lie along for a frame facing a direction
+     */
+    private static Direction.Axis axisFor(Direction facing) {
+        return (facing == Direction.NORTH || facing == Direction.SOUTH) 
+            ? Direction.Axis.X 
+            : Direction.Axis.Z;
+    }
+    
     /**
      * Fill the portal frame with portal blocks
      */
-    private static void lightPortal(Level level, BlockPos corner, Direction facing) {
+    private static void lightPortal(Level level, BlockPos corner, Direction facing, int width, int height) {
         Direction right = facing.getClockWise();
         
         // Determine the axis for the portal
-        Direction.Axis axis = (facing == Direction.NORTH || facing == Direction.SOUTH) 
-            ? Direction.Axis.X 
-            : Direction.Axis.Z;
+        Direction.Axis axis = axisFor(facing);
         
         // Fill the inside with portal blocks with correct orientation
-        for (int x = 1; x < PORTAL_WIDTH - 1; x++) {
-            for (int y = 1; y < PORTAL_HEIGHT - 1; y++) {
+        for (int x = 1; x < width - 1; x++) {
+            for (int y = 1; y < height - 1; y++) {
                 BlockPos pos = corner.relative(right, x).above(y);
                 
                 // Set portal block with correct axis - use flag 2 to prevent updates
@@ -299,133 +366,55 @@ public class AutoPortalActivator {
     }
     
     /**
-     * Teleport a player to the Letterverse or back
+     * Create a spawn platform in the Letterverse
      */
-    public static void teleportToLetterverse(ServerPlayer player) {
-        ServerLevel currentLevel = (ServerLevel) player.level();
-        ServerLevel targetLevel;
-        Vec3 targetPos;
-        
-        if (LetterverseDimension.isLetterverse(currentLevel)) {
-            // Return to Overworld
-            targetLevel = player.server.getLevel(Level.OVERWORLD);
-            targetPos = new Vec3(
-                player.getX(),
-                100, // Spawn high up
-                player.getZ()
-            );
-            TutorialMod.LOGGER.info("Teleporting {} from Letterverse to Overworld", player.getName().getString());
-        } else {
-            // Go to Letterverse
-            targetLevel = player.server.getLevel(LetterverseDimension.LETTERVERSE_LEVEL);
-            if (targetLevel == null) {
-                TutorialMod.LOGGER.error("Letterverse dimension not found! Check dimension JSON files.");
-                return;
-            }
-            
-            // Find a safe spawn position
-            BlockPos spawnPos = new BlockPos((int)player.getX(), 100, (int)player.getZ());
-            
-            // Create a spawn platform
-            createSpawnPlatform(targetLevel, spawnPos);
-            
-            // Create a return portal
-            createReturnPortal(targetLevel, spawnPos);
-            
-            targetPos = new Vec3(
-                spawnPos.getX() + 0.5,
-                spawnPos.getY() + 1, // Spawn on top of platform
-                spawnPos.getZ() + 0.5
-            );
-            
-            TutorialMod.LOGGER.info("Teleporting {} from Overworld to Letterverse at {}", player.getName().getString(), spawnPos);
-        }
-        
-        if (targetLevel != null) {
-            // Create dimension transition
-            DimensionTransition transition = new DimensionTransition(
-                targetLevel,
-                targetPos,
-                Vec3.ZERO, // velocity
-                player.getYRot(),
-                player.getXRot(),
-                DimensionTransition.DO_NOTHING
-            );
-            
-            player.changeDimension(transition);
-            
-            // Play teleport sound
-            player.playSound(SoundEvents.ENDERMAN_TELEPORT, 1.0f, 1.0f);
-        }
+    static void createSpawnPlatform(ServerLevel level, BlockPos center) {
+        SPAWN_PLATFORM.place(level, center);
+        TutorialMod.LOGGER.info("Created spawn platform at {}", center);
     }
     
-    /**
-     * Create a spawn platform in the Letterverse
-     */
-    private static void createSpawnPlatform(ServerLevel level, BlockPos center) {
-        // Create a 7x7 platform
+    private static StructureStamp buildSpawnPlatform() {
+        StructureStamp stamp = new StructureStamp();
+        
+        // A 7x7 platform with space cleared above it
         for (int x = -3; x <= 3; x++) {
             for (int z = -3; z <= 3; z++) {
-                BlockPos pos = center.offset(x, -1, z);
-                
                 // Make it look nice - grass in center, stone around edges
                 double distance = Math.sqrt(x * x + z * z);
-                if (distance < 2) {
-                    level.setBlock(pos, Blocks.GRASS_BLOCK.defaultBlockState(), 3);
-                } else {
-                    level.setBlock(pos, Blocks.STONE.defaultBlockState(), 3);
-                }
-                
-                // Clear space above
-                level.setBlock(pos.above(), Blocks.AIR.defaultBlockState(), 3);
-                level.setBlock(pos.above(2), Blocks.AIR.defaultBlockState(), 3);
-                level.setBlock(pos.above(3), Blocks.AIR.defaultBlockState(), 3);
+                stamp.set(x, -1, z, distance < 2 ? Blocks.GRASS_BLOCK.defaultBlockState() : Blocks.STONE.defaultBlockState());
+                stamp.fill(x, 0, z, x, 2, z, Blocks.AIR.defaultBlockState());
             }
         }
+        return stamp;
+    }
+    
+    private static StructureStamp buildReturnPortal() {
+        StructureStamp stamp = new StructureStamp();
         
-        TutorialMod.LOGGER.info("Created spawn platform at {}", center);
+        // A standard frame facing north, so it runs east from the corner, already lit
+        stamp.fill(0, 0, 0, PORTAL_WIDTH - 1, PORTAL_HEIGHT - 1, 0, Blocks.BOOKSHELF.defaultBlockState());
+        stamp.fill(1, 1, 0, PORTAL_WIDTH - 2, PORTAL_HEIGHT - 2, 0, Blocks.NETHER_PORTAL.defaultBlockState()
+            .setValue(net.minecraft.world.level.block.NetherPortalBlock.AXIS, axisFor(Direction.NORTH)));
+        return stamp;
+    }
+    
+    /**
+     * Get the corner of the return portal built on the spawn platform at a position
+     */
+    static BlockPos returnPortalCorner(BlockPos center) {
+        // On the platform, offset slightly so player doesn't spawn inside
+        return center.offset(-1, 0, 2);
     }
     
     /**
      * Create a return portal in the Letterverse
      */
-    private static void createReturnPortal(ServerLevel level, BlockPos center) {
-        // Build portal on the platform, offset slightly so player doesn't spawn inside
-        BlockPos portalCorner = center.offset(-1, 0, 2);
-        
-        Direction facing = Direction.NORTH;
-        Direction right = facing.getClockWise();
-        
-        // Build the bookshelf frame
-        // Bottom row
-        for (int i = 0; i < PORTAL_WIDTH; i++) {
-            BlockPos pos = portalCorner.relative(right, i);
-            level.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState(), 3);
-        }
-        
-        // Top row
-        for (int i = 0; i < PORTAL_WIDTH; i++) {
-            BlockPos pos = portalCorner.relative(right, i).above(PORTAL_HEIGHT - 1);
-            level.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState(), 3);
-        }
-        
-        // Left side
-        for (int i = 1; i < PORTAL_HEIGHT - 1; i++) {
-            BlockPos pos = portalCorner.above(i);
-            level.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState(), 3);
-        }
-        
-        // Right side
-        for (int i = 1; i < PORTAL_HEIGHT - 1; i++) {
-            BlockPos pos = portalCorner.relative(right, PORTAL_WIDTH - 1).above(i);
-            level.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState(), 3);
-        }
-        
-        // Light the portal
-        lightPortal(level, portalCorner, facing);
+    static void createReturnPortal(ServerLevel level, BlockPos center) {
+        BlockPos portalCorner = returnPortalCorner(center);
+        RETURN_PORTAL.place(level, portalCorner);
         
-        // Add to active portals
-        ACTIVE_PORTALS.add(portalCorner.immutable());
+        // Add to the Letterverse's portals
+        PortalRegistry.get(level).add(portalCorner, axisFor(Direction.NORTH), PORTAL_WIDTH, PORTAL_HEIGHT);
         
         TutorialMod.LOGGER.info("Created return portal at {}", portalCorner);
     }
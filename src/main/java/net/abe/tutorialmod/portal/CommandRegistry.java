@@ -1,12 +1,14 @@
 package net.abe.tutorialmod.portal;
 
 import net.abe.tutorialmod.TutorialMod;
+import net.abe.tutorialmod.word.FindLettersCommand;
+import net.abe.tutorialmod.word.SpellStatsCommand;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 
 /**
- * Registers the /testportal command
+ * Registers the mod's commands
  */
 @EventBusSubscriber(modid = TutorialMod.MODID)
 public class CommandRegistry {
@@ -14,6 +16,10 @@ public class CommandRegistry {
     @SubscribeEvent
     public static void onRegisterCommands(RegisterCommandsEvent event) {
         PortalTestCommand.register(event.getDispatcher());
-        TutorialMod.LOGGER.info("Registered /testportal command");
+        FindLettersCommand.register(event.getDispatcher());
+        SpellStatsCommand.register(event.getDispatcher());
+        PortalStateCommand.register(event.getDispatcher());
+        PortalQueueCommand.register(event.getDispatcher());
+        TutorialMod.LOGGER.info("Registered /testportal, /findletters, /spellstats, /portalstate and /portalqueue commands");
     }
 }
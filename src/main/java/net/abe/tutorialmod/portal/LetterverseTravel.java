@@ -0,0 +1,391 @@
+package net.abe.tutorialmod.portal;
+
+import net.abe.tutorialmod.Config;
+import net.abe.tutorialmod.TutorialMod;
+import net.abe.tutorialmod.dimension.LetterverseDimension;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ChunkResult;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.portal.DimensionTransition;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Takes players through bookshelf portals without loading or generating chunks in the middle of a tick.
+ * A trip first puts a ticket on the destination and asks for its chunks, which load or generate off-thread;
+ * only once they are all ready does the server thread build the platform and return portal and move the player.
+ * Trips whose destination is ready are admitted in the order they set off, only a few each tick,
+ * so a crowd walking through a portal together is spread over several ticks.
+ * The player sees "Traveling..." above their hotbar while they wait.
+ * Each portal is linked to the portal it leads to, so later trips through it go straight there
+ * and only build a new platform and return portal when the old one is gone.
+ */
+@EventBusSubscriber(modid = TutorialMod.MODID)
+public class LetterverseTravel {
+    
+    // Keeps the destination loaded from when a trip starts until the player arrives, however long the queue is
+    private static final TicketType<ChunkPos> TRAVEL_TICKET =
+        TicketType.create("tutorialmod_travel", Comparator.comparingLong(ChunkPos::toLong));
+    
+    // How far from the destination the platform and return portal reach
+    private static final int BUILD_RADIUS = 3;
+    
+    // Players on their way, whether their destination is loaded yet or not, in the order they set off
+    private static final Map<UUID, Trip> TRIPS = new LinkedHashMap<>();
+    
+    // Trips admitted this tick, taken out of the queue before any are finished
+    private static final List<Trip> ADMITTED = new ArrayList<>();
+    
+    // Totals over the trips admitted since the server started, for the queue command
+    private static long admittedTrips;
+    private static long totalWaitTicks;
+    private static long longestWaitTicks;
+    
+    /**
+     * How the queue looks right now: trips waiting, how many of them are ready to go, how long the oldest
+     * has waited, and how many trips have been admitted and how long they waited on average, in ticks
+     */
+    public record QueueStats(int waiting, int ready, long oldestWaitTicks, long admitted, double averageWaitTicks, long longestWaitTicks) {
+    }
+    
+    /**
+     * A player on their way to a destination that may not be loaded yet
+     */
+    private static final class Trip {
+        final ServerPlayer player;
+        final ServerLevel from;
+        final ServerLevel to;
+        final PortalRegistry.Portal source;
+        
+        // The portal the source is linked to, or null to go to the destination instead
+        @Nullable
+        PortalRegistry.Portal linked;
+        
+        // Where to build, or to land when there is no linked portal
+        final BlockPos destination;
+        final boolean toLetterverse;
+        final long startTick;
+        
+        // The ticket holding the chunks the arrival needs, covering radius chunks around its centre
+        ChunkPos ticketCenter;
+        int ticketRadius;
+        
+        // Set on the server thread once every chunk the arrival needs is loaded
+        boolean ready;
+        
+        Trip(ServerPlayer player, ServerLevel from, ServerLevel to, PortalRegistry.Portal source,
+             @Nullable PortalRegistry.Portal linked, BlockPos destination, boolean toLetterverse, long startTick) {
+            this.player = player;
+            this.from = from;
+            this.to = to;
+            this.source = source;
+            this.linked = linked;
+            this.destination = destination;
+            this.toLetterverse = toLetterverse;
+            this.startTick = startTick;
+        }
+    }
+    
+    /**
+     * Send a player standing in a bookshelf portal to the Letterverse, or back to the Overworld from it.
+     * Does nothing if they are already on their way.
+     */
+    public static void start(ServerPlayer player, PortalRegistry.Portal source) {
+        if (TRIPS.containsKey(player.getUUID())) {
+            return;
+        }
+        
+        ServerLevel currentLevel = (ServerLevel) player.level();
+        MinecraftServer server = currentLevel.getServer();
+        boolean toLetterverse = !LetterverseDimension.isLetterverse(currentLevel);
+        ServerLevel targetLevel = server.getLevel(toLetterverse ? LetterverseDimension.LETTERVERSE_LEVEL : Level.OVERWORLD);
+        if (targetLevel == null) {
+            TutorialMod.LOGGER.error("Letterverse dimension not found! Check dimension JSON files.");
+            return;
+        }
+        
+        // A link is one lookup; the portal it names is checked once its chunks are loaded
+        BlockPos link = PortalRegistry.get(currentLevel).getLink(source.corner());
+        PortalRegistry.Portal linked = link != null ? PortalRegistry.get(targetLevel).get(link) : null;
+        
+        // Otherwise spawn high up, above the same spot
+        BlockPos destination = BlockPos.containing(player.getX(), 100, player.getZ());
+        Trip trip = new Trip(player, currentLevel, targetLevel, source, linked, destination, toLetterverse, server.getTickCount());
+        TRIPS.put(player.getUUID(), trip);
+        load(trip);
+        player.displayClientMessage(Component.literal("Traveling..."), true);
+        
+        TutorialMod.LOGGER.info("{} set off from {} for {} in {}", player.getName().getString(),
+            currentLevel.dimension().location(), destination, targetLevel.dimension().location());
+    }
+    
+    /**
+     * Put a ticket on everything the arrival reads or builds and ask for its chunks, marking the trip ready
+     * on the server thread once they have all loaded: the linked portal and the spot in front of it, or the platform.
+     * Must be called on the server thread.
+     */
+    private static void load(Trip trip) {
+        PortalRegistry.Portal linked = trip.linked;
+        BlockPos from = linked != null ? linked.corner().offset(-2, 0, -2) : trip.destination.offset(-BUILD_RADIUS, 0, -BUILD_RADIUS);
+        BlockPos to = linked != null ? linked.farCorner().offset(2, 0, 2) : trip.destination.offset(BUILD_RADIUS, 0, BUILD_RADIUS);
+        int minX = from.getX() >> 4;
+        int maxX = to.getX() >> 4;
+        int minZ = from.getZ() >> 4;
+        int maxZ = to.getZ() >> 4;
+        
+        // One ticket reaching every chunk in the box, so none of them can unload while the trip waits its turn
+        trip.ticketCenter = new ChunkPos((minX + maxX) >> 1, (minZ + maxZ) >> 1);
+        trip.ticketRadius = Math.max(maxX - trip.ticketCenter.x, maxZ - trip.ticketCenter.z);
+        ServerChunkCache chunkSource = trip.to.getChunkSource();
+        chunkSource.addRegionTicket(TRAVEL_TICKET, trip.ticketCenter, trip.ticketRadius, trip.ticketCenter);
+        
+        List<CompletableFuture<ChunkResult<ChunkAccess>>> chunks = new ArrayList<>((maxX - minX + 1) * (maxZ - minZ + 1));
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                chunks.add(chunkSource.getChunkFuture(x, z, ChunkStatus.FULL, true));
+            }
+        }
+        
+        // A chunk that fails to load or generate comes back as an error result rather than an exception
+        MinecraftServer server = trip.to.getServer();
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+            .thenRunAsync(() -> {
+                for (CompletableFuture<ChunkResult<ChunkAccess>> chunk : chunks) {
+                    ChunkResult<ChunkAccess> result = chunk.join();
+                    if (!result.isSuccess()) {
+                        fail(trip, result.getError());
+                        return;
+                    }
+                }
+                trip.ready = true;
+            }, server)
+            .exceptionally(e -> {
+                server.execute(() -> fail(trip, e.toString()));
+                return null;
+            });
+    }
+    
+    /**
+     * Check whether a player is waiting for their destination to load or their turn to arrive
+     */
+    public static boolean isTraveling(ServerPlayer player) {
+        return TRIPS.containsKey(player.getUUID());
+    }
+    
+    /**
+     * Get how the queue looks right now
+     */
+    public static QueueStats getQueueStats(MinecraftServer server) {
+        int ready = 0;
+        long oldestWait = 0;
+        for (Trip trip : TRIPS.values()) {
+            if (trip.ready) {
+                ready++;
+            }
+            oldestWait = Math.max(oldestWait, server.getTickCount() - trip.startTick);
+        }
+        double averageWait = admittedTrips == 0 ? 0 : (double) totalWaitTicks / admittedTrips;
+        return new QueueStats(TRIPS.size(), ready, oldestWait, admittedTrips, averageWait, longestWaitTicks);
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (TRIPS.isEmpty()) {
+            return;
+        }
+        MinecraftServer server = event.getServer();
+        admitTrips(server);
+        
+        // The action bar fades after a few seconds, so keep it up for long waits
+        if (server.getTickCount() % 20 == 0) {
+            for (Trip trip : TRIPS.values()) {
+                trip.player.displayClientMessage(Component.literal("Traveling..."), true);
+            }
+        }
+    }
+    
+    /**
+     * Finish the oldest trips that are ready to go, up to the configured number this tick.
+     * Trips still loading don't hold up ready ones behind them.
+     */
+    private static void admitTrips(MinecraftServer server) {
+        int slots = Config.PORTAL_ADMISSIONS_PER_TICK.getAsInt();
+        Iterator<Trip> queued = TRIPS.values().iterator();
+        while (slots > 0 && queued.hasNext()) {
+            Trip trip = queued.next();
+            if (trip.ready) {
+                queued.remove();
+                ADMITTED.add(trip);
+                slots--;
+            }
+        }
+        
+        // Finished outside the loop, since changing dimension fires events that may look at the queue
+        for (Trip trip : ADMITTED) {
+            long waited = server.getTickCount() - trip.startTick;
+            admittedTrips++;
+            totalWaitTicks += waited;
+            longestWaitTicks = Math.max(longestWaitTicks, waited);
+            arrive(trip);
+        }
+        ADMITTED.clear();
+    }
+    
+    /**
+     * Call off a player's trip if they are on one, as when they step back out of the portal before their turn
+     */
+    public static void cancel(ServerPlayer player) {
+        Trip trip = TRIPS.get(player.getUUID());
+        if (trip != null) {
+            cancel(trip);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            cancel(player);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        TRIPS.clear();
+        admittedTrips = 0;
+        totalWaitTicks = 0;
+        longestWaitTicks = 0;
+    }
+    
+    /**
+     * Finish a trip taken out of the queue once its destination is loaded. Runs on the server thread.
+     */
+    private static void arrive(Trip trip) {
+        ServerPlayer player = trip.player;
+        if (player.isRemoved() || player.level() != trip.from) {
+            // Died, left, or went somewhere else while waiting
+            releaseTicket(trip);
+            return;
+        }
+        
+        // Only the linked portal's chunks were loaded, so when it's gone the trip goes back to wait for the destination's
+        if (trip.linked != null && !isIntact(trip.to, trip.linked)) {
+            TutorialMod.LOGGER.info("Linked portal at {} is gone, sending {} to {} instead",
+                trip.linked.corner(), player.getName().getString(), trip.destination);
+            releaseTicket(trip);
+            trip.linked = null;
+            trip.ready = false;
+            TRIPS.put(player.getUUID(), trip);
+            load(trip);
+            return;
+        }
+        
+        // The player holds the chunks around them from here on, so the ticket can go before they move
+        releaseTicket(trip);
+        
+        BlockPos destination = trip.destination;
+        PortalRegistry targetPortals = PortalRegistry.get(trip.to);
+        Vec3 targetPos;
+        if (trip.linked != null) {
+            // Been here before - go straight to the portal this one leads to
+            targetPos = Vec3.atBottomCenterOf(trip.linked.front());
+            TutorialMod.LOGGER.info("Teleporting {} to linked portal at {}", player.getName().getString(), trip.linked.corner());
+        } else if (trip.toLetterverse) {
+            // Only build when there isn't already a working return portal here, like one from before portals were linked
+            BlockPos returnCorner = AutoPortalActivator.returnPortalCorner(destination);
+            PortalRegistry.Portal existing = targetPortals.get(returnCorner);
+            if (existing == null || !isIntact(trip.to, existing)) {
+                AutoPortalActivator.createSpawnPlatform(trip.to, destination);
+                AutoPortalActivator.createReturnPortal(trip.to, destination);
+            }
+            
+            // Link both ways, so the return portal leads back here and later trips skip the build
+            PortalRegistry.get(trip.from).link(trip.source.corner(), returnCorner);
+            targetPortals.link(returnCorner, trip.source.corner());
+            
+            // Spawn on top of platform
+            targetPos = new Vec3(destination.getX() + 0.5, destination.getY() + 1, destination.getZ() + 0.5);
+            TutorialMod.LOGGER.info("Teleporting {} from Overworld to Letterverse at {}", player.getName().getString(), destination);
+        } else {
+            // Where the player stood when they set off, since that is what was loaded, not where they wandered to since
+            targetPos = new Vec3(destination.getX() + 0.5, destination.getY(), destination.getZ() + 0.5);
+            TutorialMod.LOGGER.info("Teleporting {} from Letterverse to Overworld", player.getName().getString());
+        }
+        
+        player.changeDimension(new DimensionTransition(
+            trip.to,
+            targetPos,
+            Vec3.ZERO, // velocity
+            player.getYRot(),
+            player.getXRot(),
+            DimensionTransition.DO_NOTHING
+        ));
+        
+        // Play teleport sound
+        player.playSound(SoundEvents.ENDERMAN_TELEPORT, 1.0f, 1.0f);
+        
+        TutorialMod.LOGGER.debug("{}'s trip took {} ticks", player.getName().getString(),
+            trip.to.getServer().getTickCount() - trip.startTick);
+    }
+    
+    /**
+     * Check that a registered portal is still there, relighting it if its portal blocks went missing.
+     * Its chunks must be loaded.
+     */
+    private static boolean isIntact(ServerLevel level, PortalRegistry.Portal portal) {
+        if (PortalRegistry.get(level).get(portal.corner()) == null
+            || !AutoPortalActivator.isValidPortalFrame(level, portal.corner(), portal.facing(), portal.width(), portal.height())) {
+            return false;
+        }
+        AutoPortalActivator.relightIfNeeded(level, portal.corner(), portal.facing(), portal.width(), portal.height());
+        return true;
+    }
+    
+    /**
+     * Give up on a trip whose destination couldn't be loaded, telling the player
+     */
+    private static void fail(Trip trip, String error) {
+        if (TRIPS.get(trip.player.getUUID()) != trip) {
+            return;
+        }
+        TutorialMod.LOGGER.error("Preparing {}'s trip to {} failed: {}", trip.player.getName().getString(), trip.destination, error);
+        trip.player.displayClientMessage(Component.literal("The way is blocked"), true);
+        cancel(trip);
+    }
+    
+    /**
+     * Take a trip out of the queue and let go of its chunks, unless it has already left the queue
+     */
+    private static void cancel(Trip trip) {
+        if (TRIPS.remove(trip.player.getUUID(), trip)) {
+            releaseTicket(trip);
+        }
+    }
+    
+    private static void releaseTicket(Trip trip) {
+        trip.to.getChunkSource().removeRegionTicket(TRAVEL_TICKET, trip.ticketCenter, trip.ticketRadius, trip.ticketCenter);
+    }
+}
@@ -0,0 +1,236 @@
+package net.abe.tutorialmod.portal;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.Arrays;
+
+/**
+ * Finds the bookshelf portal frames a placed bookshelf completes, of any size up to {@link #MAX_FRAME_SIZE}.
+ * The bookshelves next to the placed one tell which side the inside of a frame would be on,
+ * so only those cells are tried. Each is checked first by walking its row and column to the bookshelves
+ * on either side, which rejects open space after at most a frame's width and height of reads,
+ * and only then flood filled to make sure the inside is a rectangle with bookshelves all round.
+ * The fill gives up as soon as it goes past the largest allowed frame, so its cost is bounded by that area.
+ * Must run on the server thread.
+ */
+final class PortalFrameFinder {
+    
+    // Largest frame side the fill has room for, counting the bookshelves
+    static final int MAX_FRAME_SIZE = 23;
+    
+    private static final int MAX_INSIDE = MAX_FRAME_SIZE - 2;
+    private static final Direction[] FACINGS = {Direction.NORTH, Direction.EAST};
+    
+    // Cells around the placed bookshelf in frame coordinates, from -(MAX_INSIDE + 1) to MAX_INSIDE + 1 each way
+    private static final int SPAN = 2 * (MAX_INSIDE + 1) + 1;
+    
+    // FILLED[cell] == stamp when the cell has been filled in the plane being searched
+    private static final int[] FILLED = new int[SPAN * SPAN];
+    private static final int[] QUEUE = new int[SPAN * SPAN];
+    private static int stamp;
+    
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+    
+    // The inside of the last frame found, in frame coordinates
+    private static int foundMinU;
+    private static int foundMinV;
+    private static int foundWidth;
+    private static int foundHeight;
+    
+    /**
+     * Called for each complete frame found
+     */
+    @FunctionalInterface
+    interface FrameAction {
+        /**
+         * @param corner the bottom corner of the frame
+         * @param width the frame's width, counting the bookshelves on both sides
+         * @param height the frame's height, counting the bookshelves top and bottom
+         * @return true to stop looking for more frames
+         */
+        boolean accept(BlockPos corner, Direction facing, int width, int height);
+    }
+    
+    private PortalFrameFinder() {
+    }
+    
+    /**
+     * Offer every complete frame the placed bookshelf is part of, until the action returns true.
+     * Sizes count the frame's bookshelves; maximums are capped at {@link #MAX_FRAME_SIZE}.
+     *
+     * @return true if the action returned true for some frame
+     */
+    static boolean forEachFrame(BlockGetter level, BlockPos placed, int minWidth, int minHeight,
+                                int maxWidth, int maxHeight, FrameAction action) {
+        int maxInsideWidth = Math.min(maxWidth, MAX_FRAME_SIZE) - 2;
+        int maxInsideHeight = Math.min(maxHeight, MAX_FRAME_SIZE) - 2;
+        int minInsideWidth = minWidth - 2;
+        int minInsideHeight = minHeight - 2;
+        if (minInsideWidth > maxInsideWidth || minInsideHeight > maxInsideHeight) {
+            return false;
+        }
+        
+        boolean shelfBelow = isBookshelf(read(level, placed, Direction.EAST, 0, -1));
+        boolean shelfAbove = isBookshelf(read(level, placed, Direction.EAST, 0, 1));
+        
+        for (Direction facing : FACINGS) {
+            Direction right = facing.getClockWise();
+            boolean shelfBefore = isBookshelf(read(level, placed, right, -1, 0));
+            boolean shelfAfter = isBookshelf(read(level, placed, right, 1, 0));
+            
+            if (++stamp == 0) {
+                Arrays.fill(FILLED, 0);
+                stamp = 1;
+            }
+            
+            // In the bottom or top row the inside is above or below; in a side it's to the left or right;
+            // at a corner it's diagonally between the two bookshelf lines
+            for (int du = -1; du <= 1; du++) {
+                for (int dv = -1; dv <= 1; dv++) {
+                    boolean possible;
+                    if (du == 0 && dv == 0) {
+                        continue;
+                    } else if (du == 0) {
+                        possible = shelfBefore && shelfAfter;
+                    } else if (dv == 0) {
+                        possible = shelfBelow && shelfAbove;
+                    } else {
+                        possible = (du < 0 ? shelfBefore : shelfAfter) && (dv < 0 ? shelfBelow : shelfAbove);
+                    }
+                    
+                    if (possible && findInside(level, placed, right, du, dv, maxInsideWidth, maxInsideHeight)
+                        && foundWidth >= minInsideWidth && foundHeight >= minInsideHeight) {
+                        BlockPos corner = placed.relative(right, foundMinU - 1).above(foundMinV - 1);
+                        if (action.accept(corner, facing, foundWidth + 2, foundHeight + 2)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check whether a cell is inside a complete frame no bigger than the limits, and if so where that inside is
+     */
+    private static boolean findInside(BlockGetter level, BlockPos placed, Direction right, int startU, int startV,
+                                      int maxInsideWidth, int maxInsideHeight) {
+        int start = cell(startU, startV);
+        if (FILLED[start] == stamp || !isInside(read(level, placed, right, startU, startV))) {
+            return false;
+        }
+        if (!lineIsBounded(level, placed, right, startU, startV, 1, 0, maxInsideWidth)
+            || !lineIsBounded(level, placed, right, startU, startV, 0, 1, maxInsideHeight)) {
+            return false;
+        }
+        
+        FILLED[start] = stamp;
+        QUEUE[0] = start;
+        int head = 0;
+        int tail = 1;
+        int minU = startU;
+        int maxU = startU;
+        int minV = startV;
+        int maxV = startV;
+        
+        while (head < tail) {
+            int current = QUEUE[head++];
+            int u = current % SPAN - (MAX_INSIDE + 1);
+            int v = current / SPAN - (MAX_INSIDE + 1);
+            
+            for (int side = 0; side < 4; side++) {
+                int nu = u + (side == 0 ? -1 : side == 1 ? 1 : 0);
+                int nv = v + (side == 2 ? -1 : side == 3 ? 1 : 0);
+                int neighbor = cell(nu, nv);
+                if (FILLED[neighbor] == stamp) {
+                    continue;
+                }
+                
+                BlockState state = read(level, placed, right, nu, nv);
+                if (isInside(state)) {
+                    FILLED[neighbor] = stamp;
+                    QUEUE[tail++] = neighbor;
+                    minU = Math.min(minU, nu);
+                    maxU = Math.max(maxU, nu);
+                    minV = Math.min(minV, nv);
+                    maxV = Math.max(maxV, nv);
+                    if (maxU - minU + 1 > maxInsideWidth || maxV - minV + 1 > maxInsideHeight) {
+                        return false;
+                    }
+                } else if (!isBookshelf(state)) {
+                    // Anything but bookshelves around the inside means it isn't a frame
+                    return false;
+                }
+            }
+        }
+        
+        // Only bookshelves border the inside, so if it fills its bounds it's a rectangle with full sides
+        int width = maxU - minU + 1;
+        int height = maxV - minV + 1;
+        if (tail != width * height) {
+            return false;
+        }
+        
+        // The fill never looks at the frame's corners
+        if (!isBookshelf(read(level, placed, right, minU - 1, minV - 1))
+            || !isBookshelf(read(level, placed, right, maxU + 1, minV - 1))
+            || !isBookshelf(read(level, placed, right, minU - 1, maxV + 1))
+            || !isBookshelf(read(level, placed, right, maxU + 1, maxV + 1))) {
+            return false;
+        }
+        
+        foundMinU = minU;
+        foundMinV = minV;
+        foundWidth = width;
+        foundHeight = height;
+        return true;
+    }
+    
+    /**
+     * Walk both ways along a line through a cell, checking it ends in bookshelves within the length limit.
+     * Rejects open space after about a frame's width or height of reads, before any filling.
+     */
+    private static boolean lineIsBounded(BlockGetter level, BlockPos placed, Direction right, int u, int v,
+                                         int stepU, int stepV, int maxLength) {
+        int length = 1;
+        for (int sign = -1; sign <= 1; sign += 2) {
+            for (int n = 1; ; n++) {
+                BlockState state = read(level, placed, right, u + sign * stepU * n, v + sign * stepV * n);
+                if (!isInside(state)) {
+                    if (!isBookshelf(state)) {
+                        return false;
+                    }
+                    break;
+                }
+                if (++length > maxLength) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private static int cell(int u, int v) {
+        return (v + MAX_INSIDE + 1) * SPAN + u + MAX_INSIDE + 1;
+    }
+    
+    /**
+     * Read the block u along and v up from the placed bookshelf
+     */
+    private static BlockState read(BlockGetter level, BlockPos placed, Direction right, int u, int v) {
+        return level.getBlockState(CURSOR.set(placed).move(right, u).move(Direction.UP, v));
+    }
+    
+    private static boolean isInside(BlockState state) {
+        return state.isAir() || state.is(Blocks.NETHER_PORTAL);
+    }
+    
+    private static boolean isBookshelf(BlockState state) {
+        return state.is(Blocks.BOOKSHELF);
+    }
+}
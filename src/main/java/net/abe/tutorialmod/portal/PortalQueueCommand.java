@@ -0,0 +1,38 @@
+package net.abe.tutorialmod.portal;
+
+import com.mojang.brigadier.CommandDispatcher;
+import net.abe.tutorialmod.Config;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+/**
+ * Debug command that shows how many players are waiting to go through bookshelf portals, and for how long
+ * Usage: /portalqueue
+ */
+public class PortalQueueCommand {
+    
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(
+            Commands.literal("portalqueue")
+                .requires(source -> source.hasPermission(2))
+                .executes(context -> showQueue(context.getSource()))
+        );
+    }
+    
+    private static int showQueue(CommandSourceStack source) {
+        LetterverseTravel.QueueStats stats = LetterverseTravel.getQueueStats(source.getServer());
+        
+        source.sendSuccess(() -> Component.literal("Portal queue: " + stats.waiting() + " waiting, "
+            + stats.ready() + " ready to arrive, " + (stats.waiting() - stats.ready()) + " still loading"), false);
+        source.sendSuccess(() -> Component.literal("Oldest wait: " + formatTicks(stats.oldestWaitTicks())
+            + ", admitting " + Config.PORTAL_ADMISSIONS_PER_TICK.getAsInt() + " per tick"), false);
+        source.sendSuccess(() -> Component.literal(stats.admitted() + " trips so far, average wait "
+            + formatTicks(Math.round(stats.averageWaitTicks())) + ", longest " + formatTicks(stats.longestWaitTicks())), false);
+        return stats.waiting();
+    }
+    
+    private static String formatTicks(long ticks) {
+        return ticks + " ticks (" + String.format("%.1f", ticks / 20.0) + "s)";
+    }
+}
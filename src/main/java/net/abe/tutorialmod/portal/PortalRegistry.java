@@ -0,0 +1,273 @@
+package net.abe.tutorialmod.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.abe.tutorialmod.TutorialMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The bookshelf portals lit in one dimension, saved with that dimension.
+ * Each dimension has its own registry, loaded the first time its portals are needed.
+ * Portals are also kept in a {@link PortalSpatialIndex}, so finding portals by position
+ * only looks at the portals in nearby chunks.
+ * A portal can also be linked to the portal it leads to in the other dimension, so trips through it
+ * go straight there instead of building a new one.
+ */
+public final class PortalRegistry extends SavedData {
+    
+    private static final String DATA_NAME = TutorialMod.MODID + "_portals";
+    
+    // The registry each level's data storage holds, so looking one up doesn't build a factory every time
+    private static final Map<ServerLevel, PortalRegistry> LOADED = new IdentityHashMap<>();
+    
+    /**
+     * A lit portal: the bottom-left corner of its frame, the axis its interior lies along,
+     * and the frame's outer width and height
+     */
+    public record Portal(BlockPos corner, Direction.Axis axis, int width, int height) {
+        
+        /**
+         * Get the direction the frame was checked facing - north for portals along X, east for portals along Z
+         */
+        public Direction facing() {
+            return axis == Direction.Axis.X ? Direction.NORTH : Direction.EAST;
+        }
+        
+        /**
+         * Get the direction from the corner along the bottom of the frame
+         */
+        public Direction right() {
+            return facing().getClockWise();
+        }
+        
+        /**
+         * Get the top corner of the frame opposite the corner
+         */
+        public BlockPos farCorner() {
+            return corner.relative(right(), width - 1).above(height - 1);
+        }
+        
+        /**
+         * Check whether a block is part of the frame or the interior
+         */
+        public boolean contains(BlockPos pos) {
+            // The frame runs east or south from the corner, so the far corner is the larger one on every axis
+            BlockPos far = farCorner();
+            return pos.getX() >= corner.getX() && pos.getX() <= far.getX()
+                && pos.getY() >= corner.getY() && pos.getY() <= far.getY()
+                && pos.getZ() >= corner.getZ() && pos.getZ() <= far.getZ();
+        }
+        
+        /**
+         * Check whether a block is one of the frame's bookshelves
+         */
+        public boolean isFrame(BlockPos pos) {
+            if (!contains(pos)) {
+                return false;
+            }
+            int along = axis == Direction.Axis.X ? pos.getX() - corner.getX() : pos.getZ() - corner.getZ();
+            int up = pos.getY() - corner.getY();
+            return along == 0 || along == width - 1 || up == 0 || up == height - 1;
+        }
+        
+        /**
+         * Get the block two steps out in front of the middle of the portal, where players coming through it arrive
+         */
+        public BlockPos front() {
+            return corner.relative(right(), (width - 1) / 2).relative(facing(), 2).above();
+        }
+    }
+    
+    // Portals by packed corner position
+    private final Long2ObjectOpenHashMap<Portal> portals = new Long2ObjectOpenHashMap<>();
+    
+    // The corner of the portal each portal leads to in the other dimension, by packed corner position
+    private final Long2LongOpenHashMap links = new Long2LongOpenHashMap();
+    
+    // Not saved - rebuilt as portals are loaded
+    private final PortalSpatialIndex index = new PortalSpatialIndex();
+    
+    // Packed positions of portal blocks found not to be part of a bookshelf portal, like those of nether portals.
+    // Not saved - each is found again the first time someone stands in it after a restart.
+    private final LongOpenHashSet otherPortalBlocks = new LongOpenHashSet();
+    
+    private PortalRegistry() {
+    }
+    
+    /**
+     * Get a level's portals. Called for every block update and every player standing in a portal,
+     * so after the first call for a level this is one identity map lookup.
+     */
+    public static PortalRegistry get(ServerLevel level) {
+        PortalRegistry registry = LOADED.get(level);
+        if (registry == null) {
+            ResourceKey<Level> dimension = level.dimension();
+            registry = level.getDataStorage().computeIfAbsent(
+                new SavedData.Factory<>(PortalRegistry::new, (tag, registries) -> load(dimension, tag), null),
+                DATA_NAME
+            );
+            LOADED.put(level, registry);
+        }
+        return registry;
+    }
+    
+    /**
+     * Forget the registries handed out, when the server they belong to stops
+     */
+    static void clearLoaded() {
+        LOADED.clear();
+    }
+    
+    /**
+     * Add a portal, replacing any with the same corner
+     */
+    public void add(BlockPos corner, Direction.Axis axis, int width, int height) {
+        Portal portal = new Portal(corner.immutable(), axis, width, height);
+        Portal replaced = portals.put(corner.asLong(), portal);
+        if (replaced != null) {
+            index.remove(replaced);
+        }
+        index.add(portal);
+        setDirty();
+    }
+    
+    /**
+     * Get the portal with a corner, or null if there isn't one
+     */
+    @Nullable
+    public Portal get(BlockPos corner) {
+        return portals.get(corner.asLong());
+    }
+    
+    public boolean remove(BlockPos corner) {
+        Portal removed = portals.remove(corner.asLong());
+        if (removed == null) {
+            return false;
+        }
+        index.remove(removed);
+        links.remove(corner.asLong());
+        setDirty();
+        return true;
+    }
+    
+    /**
+     * Link a portal to the corner of the portal it leads to in the other dimension
+     */
+    public void link(BlockPos corner, BlockPos destination) {
+        if (portals.containsKey(corner.asLong())) {
+            links.put(corner.asLong(), destination.asLong());
+            setDirty();
+        }
+    }
+    
+    /**
+     * Get the corner of the portal a portal leads to in the other dimension, or null if it isn't linked.
+     * The portal there may have been broken since; check it before using it.
+     */
+    @Nullable
+    public BlockPos getLink(BlockPos corner) {
+        return links.containsKey(corner.asLong()) ? BlockPos.of(links.get(corner.asLong())) : null;
+    }
+    
+    /**
+     * Get a portal whose frame or interior includes a block, or null if there isn't one
+     */
+    @Nullable
+    public Portal portalAt(BlockPos pos) {
+        return index.portalAt(pos);
+    }
+    
+    /**
+     * Check whether a portal block was found not to be part of a bookshelf portal
+     */
+    public boolean isOtherPortal(BlockPos pos) {
+        return otherPortalBlocks.contains(pos.asLong());
+    }
+    
+    /**
+     * Remember that a portal block isn't part of a bookshelf portal, so it isn't checked again until it changes
+     */
+    public void markOtherPortal(BlockPos pos) {
+        otherPortalBlocks.add(pos.asLong());
+    }
+    
+    /**
+     * Forget what a block was found to be, since it changed
+     */
+    public void forgetOtherPortal(BlockPos pos) {
+        otherPortalBlocks.remove(pos.asLong());
+    }
+    
+    /**
+     * Run an action for every portal whose frame or interior includes a block
+     */
+    public void forEachPortalAt(BlockPos pos, Consumer<Portal> action) {
+        index.forEachAt(pos, action);
+    }
+    
+    /**
+     * Run an action for every portal with part of its frame in a chunk
+     */
+    public void forEachPortalInChunk(ChunkPos chunk, Consumer<Portal> action) {
+        index.forEachInChunk(chunk, action);
+    }
+    
+    private static PortalRegistry load(ResourceKey<Level> dimension, CompoundTag tag) {
+        PortalRegistry registry = new PortalRegistry();
+        ListTag list = tag.getList("portals", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag entry = list.getCompound(i);
+            BlockPos corner = BlockPos.of(entry.getLong("corner"));
+            Direction.Axis axis = Direction.Axis.byName(entry.getString("axis"));
+            
+            // Portals saved before frames could be resized are all the standard size
+            int width = entry.contains("width") ? entry.getInt("width") : AutoPortalActivator.PORTAL_WIDTH;
+            int height = entry.contains("height") ? entry.getInt("height") : AutoPortalActivator.PORTAL_HEIGHT;
+            if (axis != null && axis.isHorizontal()) {
+                Portal portal = new Portal(corner, axis, width, height);
+                registry.portals.put(corner.asLong(), portal);
+                registry.index.add(portal);
+                if (entry.contains("link")) {
+                    registry.links.put(corner.asLong(), entry.getLong("link"));
+                }
+            } else {
+                TutorialMod.LOGGER.warn("Dropping saved portal at {} in {} with bad axis '{}'", corner, dimension.location(), entry.getString("axis"));
+            }
+        }
+        return registry;
+    }
+    
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        ListTag list = new ListTag();
+        for (Portal portal : portals.values()) {
+            CompoundTag entry = new CompoundTag();
+            entry.putLong("corner", portal.corner().asLong());
+            entry.putString("axis", portal.axis().getSerializedName());
+            entry.putInt("width", portal.width());
+            entry.putInt("height", portal.height());
+            if (links.containsKey(portal.corner().asLong())) {
+                entry.putLong("link", links.get(portal.corner().asLong()));
+            }
+            list.add(entry);
+        }
+        tag.put("portals", list);
+        return tag;
+    }
+}
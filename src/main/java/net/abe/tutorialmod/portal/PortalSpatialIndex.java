@@ -0,0 +1,87 @@
+package net.abe.tutorialmod.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Finds portals by where they are, keyed by chunk.
+ * Each portal is listed under every chunk its frame covers, so a query only looks at the portals
+ * in the chunks it touches, however many portals there are elsewhere.
+ */
+public final class PortalSpatialIndex {
+    
+    // Portals by packed position of each chunk their frame covers
+    private final Long2ObjectOpenHashMap<List<PortalRegistry.Portal>> byChunk = new Long2ObjectOpenHashMap<>();
+    
+    public void add(PortalRegistry.Portal portal) {
+        BlockPos far = portal.farCorner();
+        for (int x = SectionPos.blockToSectionCoord(portal.corner().getX()); x <= SectionPos.blockToSectionCoord(far.getX()); x++) {
+            for (int z = SectionPos.blockToSectionCoord(portal.corner().getZ()); z <= SectionPos.blockToSectionCoord(far.getZ()); z++) {
+                byChunk.computeIfAbsent(ChunkPos.asLong(x, z), key -> new ArrayList<>(1)).add(portal);
+            }
+        }
+    }
+    
+    public void remove(PortalRegistry.Portal portal) {
+        BlockPos far = portal.farCorner();
+        for (int x = SectionPos.blockToSectionCoord(portal.corner().getX()); x <= SectionPos.blockToSectionCoord(far.getX()); x++) {
+            for (int z = SectionPos.blockToSectionCoord(portal.corner().getZ()); z <= SectionPos.blockToSectionCoord(far.getZ()); z++) {
+                long key = ChunkPos.asLong(x, z);
+                List<PortalRegistry.Portal> inChunk = byChunk.get(key);
+                if (inChunk != null && inChunk.remove(portal) && inChunk.isEmpty()) {
+                    byChunk.remove(key);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get a portal whose frame or interior includes a block, or null if there isn't one
+     */
+    @Nullable
+    public PortalRegistry.Portal portalAt(BlockPos pos) {
+        List<PortalRegistry.Portal> inChunk = byChunk.get(ChunkPos.asLong(pos));
+        if (inChunk == null) {
+            return null;
+        }
+        for (int i = 0; i < inChunk.size(); i++) {
+            if (inChunk.get(i).contains(pos)) {
+                return inChunk.get(i);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Run an action for every portal whose frame or interior includes a block
+     */
+    public void forEachAt(BlockPos pos, Consumer<PortalRegistry.Portal> action) {
+        List<PortalRegistry.Portal> inChunk = byChunk.get(ChunkPos.asLong(pos));
+        if (inChunk == null) {
+            return;
+        }
+        for (int i = 0; i < inChunk.size(); i++) {
+            PortalRegistry.Portal portal = inChunk.get(i);
+            if (portal.contains(pos)) {
+                action.accept(portal);
+            }
+        }
+    }
+    
+    /**
+     * Run an action for every portal with part of its frame in a chunk
+     */
+    public void forEachInChunk(ChunkPos chunk, Consumer<PortalRegistry.Portal> action) {
+        List<PortalRegistry.Portal> inChunk = byChunk.get(chunk.toLong());
+        if (inChunk != null) {
+            inChunk.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.abe.tutorialmod.portal;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * How long a player has been standing in a bookshelf portal, attached to the player.
+ * All primitive fields, so updating it every tick doesn't allocate. Not saved.
+ */
+public final class PortalState {
+    
+    // Ticks spent in the current portal block
+    private int ticks;
+    
+    // The portal block the player is standing in, packed, valid while inPortal is set
+    private long portalPos;
+    private boolean inPortal;
+    
+    // Set once this visit has teleported the player, so standing still doesn't teleport them again
+    private boolean teleported;
+    
+    /**
+     * Note the player standing in a portal block this tick
+     *
+     * @return true if they just entered it, or moved to it from another portal block
+     */
+    public boolean enter(BlockPos pos) {
+        long packed = pos.asLong();
+        if (inPortal && portalPos == packed) {
+            return false;
+        }
+        inPortal = true;
+        portalPos = packed;
+        ticks = 0;
+        teleported = false;
+        return true;
+    }
+    
+    /**
+     * Count a tick in the current portal block
+     *
+     * @return the ticks spent in it, including this one
+     */
+    public int tick() {
+        return ++ticks;
+    }
+    
+    public void markTeleported() {
+        teleported = true;
+    }
+    
+    public boolean hasTeleported() {
+        return teleported;
+    }
+    
+    public boolean isInPortal() {
+        return inPortal;
+    }
+    
+    public int getTicks() {
+        return ticks;
+    }
+    
+    /**
+     * Get the portal block the player is standing in, packed, or 0 when they aren't in one
+     */
+    public long getPortalPos() {
+        return inPortal ? portalPos : 0L;
+    }
+    
+    /**
+     * Forget the current portal, as when the player steps out, logs out or changes dimension
+     */
+    public void reset() {
+        ticks = 0;
+        portalPos = 0L;
+        inPortal = false;
+        teleported = false;
+    }
+}
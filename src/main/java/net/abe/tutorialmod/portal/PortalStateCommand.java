@@ -0,0 +1,43 @@
+package net.abe.tutorialmod.portal;
+
+import com.mojang.brigadier.CommandDispatcher;
+import net.abe.tutorialmod.ModAttachments;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Debug command that shows a player's bookshelf portal state
+ * Usage: /portalstate [player]
+ */
+public class PortalStateCommand {
+    
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(
+            Commands.literal("portalstate")
+                .requires(source -> source.hasPermission(2))
+                .executes(context -> showState(context.getSource(), context.getSource().getPlayerOrException()))
+                .then(Commands.argument("player", EntityArgument.player())
+                    .executes(context -> showState(context.getSource(), EntityArgument.getPlayer(context, "player"))))
+        );
+    }
+    
+    private static int showState(CommandSourceStack source, ServerPlayer player) {
+        PortalState state = player.getData(ModAttachments.PORTAL_STATE);
+        String name = player.getGameProfile().getName();
+        
+        if (!state.isInPortal()) {
+            source.sendSuccess(() -> Component.literal(name + " is not in a bookshelf portal"), false);
+            return 0;
+        }
+        
+        BlockPos pos = BlockPos.of(state.getPortalPos());
+        source.sendSuccess(() -> Component.literal(name + " has been in the bookshelf portal at "
+            + pos.toShortString() + " for " + state.getTicks() + " ticks"
+            + (state.hasTeleported() ? ", already teleported" : "")), false);
+        return state.getTicks();
+    }
+}
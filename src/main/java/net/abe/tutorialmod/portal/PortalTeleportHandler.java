@@ -1,22 +1,24 @@
 package net.abe.tutorialmod.portal;
 
+import net.abe.tutorialmod.ModAttachments;
 import net.abe.tutorialmod.TutorialMod;
 import net.abe.tutorialmod.dimension.LetterverseDimension;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.NetherPortalBlock;
+import net.minecraft.world.level.block.state.BlockState;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.entity.EntityTravelToDimensionEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * New approach: Just teleport players who are in bookshelf portals
@@ -25,9 +27,8 @@ import java.util.UUID;
 @EventBusSubscriber(modid = TutorialMod.MODID)
 public class PortalTeleportHandler {
     
-    // Track time players spend in portals
-    private static final Map<UUID, Integer> PORTAL_TIMER = new HashMap<>();
-    private static final Map<UUID, BlockPos> LAST_PORTAL_POS = new HashMap<>();
+    // Reused for the walk and scan around unregistered portal blocks, which only run on the server thread
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
     
     /**
      * Cancel vanilla nether portal travel when player is in a bookshelf portal
@@ -69,64 +70,107 @@ public class PortalTeleportHandler {
         
         BlockPos playerPos = player.blockPosition();
         ServerLevel level = (ServerLevel) player.level();
+        PortalState state = player.getData(ModAttachments.PORTAL_STATE);
         
-        // Check if player is standing in a portal block
-        if (level.getBlockState(playerPos).is(Blocks.NETHER_PORTAL)) {
+        // Check if player is standing in a bookshelf portal block - Nether portals (obsidian frame) are left to vanilla
+        PortalRegistry.Portal portal = level.getBlockState(playerPos).is(Blocks.NETHER_PORTAL)
+            ? findBookshelfPortal(level, playerPos)
+            : null;
+        if (portal != null) {
             
-            // Check if it's a bookshelf portal
-            if (isBookshelfPortal(level, playerPos)) {
-                
-                // Track time in this portal
-                UUID playerId = player.getUUID();
-                BlockPos lastPos = LAST_PORTAL_POS.get(playerId);
-                
-                // If player moved to a different portal or just entered, reset timer
-                if (lastPos == null || !lastPos.equals(playerPos)) {
-                    PORTAL_TIMER.put(playerId, 0);
-                    LAST_PORTAL_POS.put(playerId, playerPos);
-                    TutorialMod.LOGGER.info("Player {} entered bookshelf portal at {}", player.getName().getString(), playerPos);
-                }
-                
-                // Increment timer
-                int ticks = PORTAL_TIMER.getOrDefault(playerId, 0) + 1;
-                PORTAL_TIMER.put(playerId, ticks);
-
-                // After 2 ticks, teleport (almost instant)
-                if (ticks == 2) {
-                    boolean inLetterverse = LetterverseDimension.isLetterverse(level);
-                    TutorialMod.LOGGER.info("Teleporting {} via bookshelf portal to {}!",
-                        player.getName().getString(),
-                        inLetterverse ? "Overworld" : "Letterverse");
-                    AutoPortalActivator.teleportToLetterverse(player);
-                    
-                    // Reset timer  
-                    PORTAL_TIMER.put(playerId, -1000); // Negative to prevent re-trigger
-                }
-                
-                // Log every second
-                if (ticks % 20 == 0 && ticks > 0) {
-                    TutorialMod.LOGGER.info("Player in bookshelf portal for {} ticks", ticks);
-                }
+            // If player moved to a different portal or just entered, the timer starts again
+            if (state.enter(playerPos)) {
+                TutorialMod.LOGGER.info("Player {} entered bookshelf portal at {}", player.getName().getString(), playerPos);
+            }
+            
+            int ticks = state.tick();
+            
+            // After 2 ticks, teleport (almost instant)
+            if (ticks == 2 && !state.hasTeleported()) {
+                boolean inLetterverse = LetterverseDimension.isLetterverse(level);
+                TutorialMod.LOGGER.info("Teleporting {} via bookshelf portal to {}!",
+                    player.getName().getString(),
+                    inLetterverse ? "Overworld" : "Letterverse");
                 
-            } else {
-                // In a Nether portal (obsidian frame) - let vanilla handle it
-                UUID playerId = player.getUUID();
-                PORTAL_TIMER.remove(playerId);
-                LAST_PORTAL_POS.remove(playerId);
+                // Marked first so standing in the portal while the destination loads doesn't start another trip
+                state.markTeleported();
+                LetterverseTravel.start(player, portal);
             }
             
-        } else {
-            // Not in any portal - reset tracking
-            UUID playerId = player.getUUID();
-            PORTAL_TIMER.remove(playerId);
-            LAST_PORTAL_POS.remove(playerId);
+            // Log every second
+            if (ticks % 20 == 0) {
+                TutorialMod.LOGGER.debug("Player in bookshelf portal for {} ticks", ticks);
+            }
+            
+        } else if (state.isInPortal()) {
+            // Not in a bookshelf portal any more - a trip still waiting its turn is off, and tracking starts over
+            LetterverseTravel.cancel(player);
+            state.reset();
         }
     }
     
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        event.getEntity().getData(ModAttachments.PORTAL_STATE).reset();
+    }
+    
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        event.getEntity().removeData(ModAttachments.PORTAL_STATE);
+    }
+    
     /**
-     * Check if a portal position is surrounded by bookshelves
+     * Check if a portal block belongs to a lit bookshelf portal
      */
     private static boolean isBookshelfPortal(Level level, BlockPos portalPos) {
+        return level instanceof ServerLevel serverLevel && findBookshelfPortal(serverLevel, portalPos) != null;
+    }
+    
+    /**
+     * Get the bookshelf portal a portal block belongs to, or null if it's a nether portal.
+     * Registered portals are one lookup in the portals of the block's chunk, with no block reads.
+     * Portals lit before portals were saved aren't registered, so other portal blocks get the old check
+     * for bookshelves around them, and on a hit the portal's frame is registered.
+     * A miss is remembered in the registry until the block changes, so either way the check is a one-time cost
+     * for each portal block, and players idling in a nether portal cost two lookups a tick and no block reads.
+     */
+    @Nullable
+    private static PortalRegistry.Portal findBookshelfPortal(ServerLevel level, BlockPos portalPos) {
+        PortalRegistry registry = PortalRegistry.get(level);
+        PortalRegistry.Portal portal = registry.portalAt(portalPos);
+        if (portal != null || registry.isOtherPortal(portalPos)) {
+            return portal;
+        }
+        
+        if (looksLikeBookshelfPortal(level, portalPos)) {
+            portal = registerOldPortal(level, registry, portalPos);
+        }
+        if (portal == null) {
+            registry.markOtherPortal(portalPos);
+        }
+        return portal;
+    }
+    
+    /**
+     * Check if an unregistered portal block is surrounded by bookshelves
+     */
+    private static boolean looksLikeBookshelfPortal(ServerLevel level, BlockPos portalPos) {
+        BlockState portalState = level.getBlockState(portalPos);
+        if (!portalState.is(Blocks.NETHER_PORTAL)) {
+            return false;
+        }
+        
+        // Players stand in nether portals far more often than in old bookshelf portals,
+        // so walk to the side of the portal first and leave obsidian frames to vanilla without the full scan
+        Direction side = sideOf(portalState);
+        CURSOR.set(portalPos);
+        for (int i = 0; i < PortalFrameFinder.MAX_FRAME_SIZE && level.getBlockState(CURSOR).is(Blocks.NETHER_PORTAL); i++) {
+            CURSOR.move(side.getOpposite());
+        }
+        if (level.getBlockState(CURSOR).is(Blocks.OBSIDIAN)) {
+            return false;
+        }
+        
         int bookshelfCount = 0;
         int obsidianCount = 0;
         
@@ -134,11 +178,10 @@ public class PortalTeleportHandler {
         for (int dx = -2; dx <= 2; dx++) {
             for (int dy = -2; dy <= 2; dy++) {
                 for (int dz = -2; dz <= 2; dz++) {
-                    BlockPos checkPos = portalPos.offset(dx, dy, dz);
-                    
-                    if (level.getBlockState(checkPos).is(Blocks.BOOKSHELF)) {
+                    BlockState state = level.getBlockState(CURSOR.setWithOffset(portalPos, dx, dy, dz));
+                    if (state.is(Blocks.BOOKSHELF)) {
                         bookshelfCount++;
-                    } else if (level.getBlockState(checkPos).is(Blocks.OBSIDIAN)) {
+                    } else if (state.is(Blocks.OBSIDIAN)) {
                         obsidianCount++;
                     }
                 }
@@ -146,13 +189,57 @@ public class PortalTeleportHandler {
         }
         
         // Must have at least 8 bookshelves and NO obsidian
-        boolean isBookshelf = bookshelfCount >= 8 && obsidianCount == 0;
+        return bookshelfCount >= 8 && obsidianCount == 0;
+    }
+    
+    /**
+     * Find and register the frame of an old bookshelf portal from one of its portal blocks
+     *
+     * @return the registered portal, or null if the portal blocks aren't in a complete frame
+     */
+    @Nullable
+    private static PortalRegistry.Portal registerOldPortal(ServerLevel level, PortalRegistry registry, BlockPos portalPos) {
+        BlockState portalState = level.getBlockState(portalPos);
+        Direction right = sideOf(portalState);
+        Direction facing = right.getCounterClockWise();
+        int maxInside = PortalFrameFinder.MAX_FRAME_SIZE - 2;
         
-        // Log once when first detected
-        if (isBookshelf) {
-            TutorialMod.LOGGER.info("Bookshelf portal detected! {} bookshelves, {} obsidian", bookshelfCount, obsidianCount);
+        // Walk to the bottom-left portal block, then measure the interior from there
+        BlockPos.MutableBlockPos start = portalPos.mutable();
+        for (int i = 0; i < maxInside && level.getBlockState(start.relative(right.getOpposite())).is(Blocks.NETHER_PORTAL); i++) {
+            start.move(right.getOpposite());
+        }
+        for (int i = 0; i < maxInside && level.getBlockState(start.below()).is(Blocks.NETHER_PORTAL); i++) {
+            start.move(Direction.DOWN);
+        }
+        
+        int insideWidth = 1;
+        while (insideWidth <= maxInside && level.getBlockState(start.relative(right, insideWidth)).is(Blocks.NETHER_PORTAL)) {
+            insideWidth++;
+        }
+        int insideHeight = 1;
+        while (insideHeight <= maxInside && level.getBlockState(start.above(insideHeight)).is(Blocks.NETHER_PORTAL)) {
+            insideHeight++;
+        }
+        if (insideWidth > maxInside || insideHeight > maxInside) {
+            return null;
         }
         
-        return isBookshelf;
+        BlockPos corner = start.relative(right, -1).below();
+        if (!AutoPortalActivator.isValidPortalFrame(level, corner, facing, insideWidth + 2, insideHeight + 2)) {
+            return null;
+        }
+        
+        registry.add(corner, portalState.getValue(NetherPortalBlock.AXIS), insideWidth + 2, insideHeight + 2);
+        TutorialMod.LOGGER.info("Registered {}x{} bookshelf portal at {} lit before portals were saved",
+            insideWidth + 2, insideHeight + 2, corner);
+        return registry.get(corner);
+    }
+    
+    /**
+     * Get the direction along the bottom of the frame a portal block is in, east for portals along X, south along Z
+     */
+    private static Direction sideOf(BlockState portalState) {
+        return portalState.getValue(NetherPortalBlock.AXIS) == Direction.Axis.X ? Direction.EAST : Direction.SOUTH;
     }
 }
@@ -0,0 +1,77 @@
+package net.abe.tutorialmod.word;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.abe.tutorialmod.ModAttachments;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+/**
+ * Admin command that lists the letter blocks around you using the letter index,
+ * without looking at any block states.
+ * Usage: /findletters [radius in chunks]
+ */
+public class FindLettersCommand {
+    
+    private static final int MAX_RADIUS = 16;
+    
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(
+            Commands.literal("findletters")
+                .requires(source -> source.hasPermission(2))
+                .executes(context -> findLetters(context, 2))
+                .then(Commands.argument("radius", IntegerArgumentType.integer(0, MAX_RADIUS))
+                    .executes(context -> findLetters(context, IntegerArgumentType.getInteger(context, "radius"))))
+        );
+    }
+    
+    private static int findLetters(CommandContext<CommandSourceStack> context, int radius) {
+        CommandSourceStack source = context.getSource();
+        ServerLevel level = source.getLevel();
+        ChunkPos center = new ChunkPos(BlockPos.containing(source.getPosition()));
+        
+        int[] perLetter = new int[26];
+        int totalLetters = 0;
+        int chunksWithLetters = 0;
+        
+        for (int chunkX = center.x - radius; chunkX <= center.x + radius; chunkX++) {
+            for (int chunkZ = center.z - radius; chunkZ <= center.z + radius; chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+                
+                LetterIndex index = chunk.getData(ModAttachments.LETTER_INDEX);
+                if (index.isEmpty()) {
+                    continue;
+                }
+                
+                chunksWithLetters++;
+                totalLetters += index.count();
+                index.forEachLetter(chunk.getPos(), (x, y, z, letter) -> perLetter[letter - 'a']++);
+            }
+        }
+        
+        int found = totalLetters;
+        int chunks = chunksWithLetters;
+        source.sendSuccess(() -> Component.literal("Found " + found + " letter blocks in " + chunks + " chunks"), false);
+        
+        StringBuilder breakdown = new StringBuilder();
+        for (int i = 0; i < perLetter.length; i++) {
+            if (perLetter[i] > 0) {
+                breakdown.append((char) ('a' + i)).append(": ").append(perLetter[i]).append("  ");
+            }
+        }
+        if (!breakdown.isEmpty()) {
+            source.sendSuccess(() -> Component.literal(breakdown.toString().trim()), false);
+        }
+        
+        return totalLetters;
+    }
+}
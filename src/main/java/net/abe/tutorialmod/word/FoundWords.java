@@ -0,0 +1,139 @@
+package net.abe.tutorialmod.word;
+
+import java.util.Arrays;
+
+/**
+ * Reusable list of words found on the board, with the letters and positions each one covers.
+ * Words may share positions, as they do in a crossword.
+ */
+public final class FoundWords {
+    
+    private int[] wordIds = new int[4];
+    
+    // Word i covers letters offsets[i] (inclusive) to offsets[i + 1] (exclusive)
+    private int[] offsets = new int[5];
+    
+    private long[] positions = new long[32];
+    private char[] letters = new char[32];
+    
+    // Words that failed the check before rewarding
+    private boolean[] skipped = new boolean[4];
+    
+    // Closest words to runs that spelled nothing, with the middle of each run
+    private int[] hintWordIds = new int[2];
+    private long[] hintPositions = new long[2];
+    
+    private int size;
+    private int letterCount;
+    private int hintCount;
+    
+    public void clear() {
+        size = 0;
+        letterCount = 0;
+        hintCount = 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int wordId(int word) {
+        return wordIds[word];
+    }
+    
+    public int letterStart(int word) {
+        return offsets[word];
+    }
+    
+    public int letterEnd(int word) {
+        return offsets[word + 1];
+    }
+    
+    /**
+     * Get a letter's position, packed with {@link net.minecraft.core.BlockPos#asLong}
+     */
+    public long position(int letter) {
+        return positions[letter];
+    }
+    
+    public char letter(int letter) {
+        return letters[letter];
+    }
+    
+    public boolean isSkipped(int word) {
+        return skipped[word];
+    }
+    
+    public void skip(int word) {
+        skipped[word] = true;
+    }
+    
+    /**
+     * Add every match in a run
+     */
+    public void addAll(LetterRun run, WordMatches matches) {
+        for (int i = 0; i < matches.size(); i++) {
+            add(run, matches.start(i), matches.end(i), matches.wordId(i));
+        }
+    }
+    
+    /**
+     * Add the word covering letters start (inclusive) to end (exclusive) of a run
+     */
+    public void add(LetterRun run, int start, int end, int wordId) {
+        if (size + 1 == offsets.length) {
+            wordIds = Arrays.copyOf(wordIds, size * 2 + 2);
+            offsets = Arrays.copyOf(offsets, size * 2 + 3);
+            skipped = Arrays.copyOf(skipped, size * 2 + 2);
+        }
+        int needed = letterCount + (end - start);
+        if (needed > positions.length) {
+            int newLength = Math.max(needed, positions.length * 2);
+            positions = Arrays.copyOf(positions, newLength);
+            letters = Arrays.copyOf(letters, newLength);
+        }
+        
+        offsets[size] = letterCount;
+        for (int i = start; i < end; i++) {
+            positions[letterCount] = run.position(i);
+            letters[letterCount] = run.letter(i);
+            letterCount++;
+        }
+        wordIds[size] = wordId;
+        skipped[size] = false;
+        size++;
+        offsets[size] = letterCount;
+    }
+    
+    /**
+     * Add a hint that a run near a position was close to a word
+     */
+    public void addHint(long position, int wordId) {
+        if (hintCount == hintWordIds.length) {
+            hintWordIds = Arrays.copyOf(hintWordIds, hintCount * 2);
+            hintPositions = Arrays.copyOf(hintPositions, hintCount * 2);
+        }
+        hintWordIds[hintCount] = wordId;
+        hintPositions[hintCount] = position;
+        hintCount++;
+    }
+    
+    public int hintCount() {
+        return hintCount;
+    }
+    
+    public int hintWordId(int hint) {
+        return hintWordIds[hint];
+    }
+    
+    /**
+     * Get the position a hint is about, packed with {@link net.minecraft.core.BlockPos#asLong}
+     */
+    public long hintPosition(int hint) {
+        return hintPositions[hint];
+    }
+}
@@ -0,0 +1,119 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.Arrays;
+
+/**
+ * Index for finding words that are a couple of edits away from a misspelling.
+ * Every word is stored under each string it becomes with up to {@link #MAX_DISTANCE} letters deleted.
+ * Any word within that many edits of a misspelling shares one of those strings with it,
+ * so a lookup only has to delete letters from the misspelling and check the words stored there.
+ * Strings are packed into a long, 5 bits a letter, so lookups don't allocate.
+ */
+public final class FuzzyIndex {
+    
+    // Most edits a lookup can allow
+    public static final int MAX_DISTANCE = 2;
+    
+    // Longest word that fits in a packed key; longer words are left out of the index
+    public static final int MAX_LENGTH = 12;
+    
+    // Packed key -> first entry, then each entry links to the next one with the same key
+    private final Long2IntOpenHashMap heads;
+    
+    // Word id and word length per entry, as id << 4 | length, so far-off lengths are skipped without looking at the word
+    private final int[] entryWord;
+    private final int[] entryNext;
+    
+    private FuzzyIndex(Long2IntOpenHashMap heads, int[] entryWord, int[] entryNext) {
+        this.heads = heads;
+        this.entryWord = entryWord;
+        this.entryNext = entryNext;
+    }
+    
+    /**
+     * Build the index for a dictionary. Takes a while for big dictionaries, so do it off the server thread.
+     */
+    public static FuzzyIndex build(WordDictionary dictionary) {
+        Long2IntOpenHashMap heads = new Long2IntOpenHashMap();
+        heads.defaultReturnValue(-1);
+        int[] entryWord = new int[dictionary.size() * 8];
+        int[] entryNext = new int[entryWord.length];
+        int entries = 0;
+        
+        // A word can reach the same string more than one way, as "book" does "bok"
+        LongOpenHashSet keys = new LongOpenHashSet();
+        char[] letters = new char[MAX_LENGTH];
+        
+        for (int word = 0; word < dictionary.size(); word++) {
+            String text = dictionary.getWord(word);
+            int length = text.length();
+            if (length > MAX_LENGTH) {
+                continue;
+            }
+            text.getChars(0, length, letters, 0);
+            
+            keys.clear();
+            keys.add(pack(letters, length, -1, -1));
+            for (int i = 0; i < length; i++) {
+                keys.add(pack(letters, length, i, -1));
+                for (int j = i + 1; j < length; j++) {
+                    keys.add(pack(letters, length, i, j));
+                }
+            }
+            
+            if (entries + keys.size() > entryWord.length) {
+                int newLength = Math.max(entries + keys.size(), entryWord.length * 2);
+                entryWord = Arrays.copyOf(entryWord, newLength);
+                entryNext = Arrays.copyOf(entryNext, newLength);
+            }
+            for (long key : keys) {
+                entryWord[entries] = word << 4 | length;
+                entryNext[entries] = heads.put(key, entries);
+                entries++;
+            }
+        }
+        
+        heads.trim();
+        return new FuzzyIndex(heads, Arrays.copyOf(entryWord, entries), Arrays.copyOf(entryNext, entries));
+    }
+    
+    /**
+     * Get the first entry stored under a packed key, or -1 if there is none
+     */
+    public int first(long key) {
+        return heads.get(key);
+    }
+    
+    /**
+     * Get the next entry under the same key, or -1 when there are no more
+     */
+    public int next(int entry) {
+        return entryNext[entry];
+    }
+    
+    public int wordAt(int entry) {
+        return entryWord[entry] >>> 4;
+    }
+    
+    public int wordLengthAt(int entry) {
+        return entryWord[entry] & 15;
+    }
+    
+    /**
+     * Pack letters a-z into a key, leaving out the letters at up to two skipped indexes (-1 to skip none).
+     * At most {@link #MAX_LENGTH} letters may be left after skipping.
+     */
+    public static long pack(char[] letters, int length, int skipA, int skipB) {
+        long key = 0;
+        for (int i = 0; i < length; i++) {
+            if (i != skipA && i != skipB) {
+                // Letters are 1-26, never 0, so "ab" and "aab" pack to different keys
+                key = (key << 5) | (letters[i] - 'a' + 1);
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,199 @@
+package net.abe.tutorialmod.word;
+
+import java.util.Arrays;
+
+/**
+ * Finds the dictionary word closest to a misspelled run of letters, using the dictionary's {@link FuzzyIndex}.
+ * Changing, adding or removing a letter counts as one edit, and so does swapping two neighbouring letters,
+ * so "caek" is one away from "cake" and "dgo" one away from "dog".
+ * Reusable and allocation free once warmed up, but not thread safe.
+ */
+public final class FuzzyMatcher {
+    
+    // Shortest run worth a hint - anything shorter is close to far too many words
+    public static final int MIN_HINT_LENGTH = 3;
+    
+    // The dictionary and index for the lookup in progress
+    private WordDictionary dictionary;
+    private FuzzyIndex index;
+    
+    private final char[] query = new char[FuzzyIndex.MAX_LENGTH + FuzzyIndex.MAX_DISTANCE];
+    private int queryLength;
+    
+    // checked[word] == stamp when a word has already been measured in this search
+    private int[] checked = new int[0];
+    private int stamp;
+    
+    // The last three rows of the edit distance table
+    private int[] twoBack = new int[FuzzyIndex.MAX_LENGTH + 1];
+    private int[] oneBack = new int[FuzzyIndex.MAX_LENGTH + 1];
+    private int[] current = new int[FuzzyIndex.MAX_LENGTH + 1];
+    
+    private int bestWord;
+    private int bestDistance;
+    
+    /**
+     * Find the word closest to a run, read either way, within maxDistance edits.
+     * Runs that could still grow into a word, like "cak" on the way to "cake", get no hint,
+     * and short runs get at most one edit for every two letters.
+     *
+     * @return the word id, or -1 if nothing is close enough
+     */
+    public int closest(WordDictionary dictionary, LetterRun run, int maxDistance) {
+        int length = run.length();
+        int limit = Math.min(Math.min(maxDistance, FuzzyIndex.MAX_DISTANCE), (length - 1) / 2);
+        if (length < MIN_HINT_LENGTH || limit <= 0 || length > FuzzyIndex.MAX_LENGTH + limit) {
+            return -1;
+        }
+        
+        // A run more than limit letters longer than every word can't be within limit edits of any,
+        // so long rows of letters are turned away without building the index or walking the trie
+        if (length > dictionary.getMaxWordLength() + limit) {
+            return -1;
+        }
+        
+        this.dictionary = dictionary;
+        this.index = dictionary.fuzzyIndex();
+        if (checked.length < dictionary.size()) {
+            checked = new int[dictionary.size()];
+        }
+        queryLength = length;
+        bestWord = -1;
+        bestDistance = limit + 1;
+        
+        if (load(run, false) || load(run, true)) {
+            return -1;
+        }
+        
+        // Nothing beats one edit, since a run that spells a word exactly never gets here
+        load(run, false);
+        search(limit);
+        if (bestDistance > 1) {
+            load(run, true);
+            search(limit);
+        }
+        
+        return bestWord;
+    }
+    
+    /**
+     * Copy a run into the query, forwards or backwards
+     *
+     * @return true if the query is the start of some dictionary word
+     */
+    private boolean load(LetterRun run, boolean reversed) {
+        for (int i = 0; i < queryLength; i++) {
+            query[i] = run.letter(reversed ? queryLength - 1 - i : i);
+        }
+        return isPrefix();
+    }
+    
+    /**
+     * Check whether the query is the start of some dictionary word
+     */
+    private boolean isPrefix() {
+        int state = WordDictionary.ROOT;
+        for (int i = 0; i < queryLength; i++) {
+            int child = dictionary.firstChild(state);
+            while (child != 0 && dictionary.edgeLetter(child) != query[i]) {
+                child = dictionary.nextSibling(child);
+            }
+            if (child == 0) {
+                return false;
+            }
+            state = child;
+        }
+        return true;
+    }
+    
+    /**
+     * Look up the query with every choice of up to limit letters deleted
+     */
+    private void search(int limit) {
+        if (++stamp == 0) {
+            Arrays.fill(checked, 0);
+            stamp = 1;
+        }
+        
+        if (queryLength <= FuzzyIndex.MAX_LENGTH) {
+            check(-1, -1);
+        }
+        if (queryLength - 1 <= FuzzyIndex.MAX_LENGTH) {
+            for (int i = 0; i < queryLength; i++) {
+                check(i, -1);
+            }
+        }
+        
+        // Two deletions only matter while nothing one edit away has turned up
+        if (limit >= 2 && bestDistance > 1) {
+            for (int i = 0; i < queryLength; i++) {
+                for (int j = i + 1; j < queryLength; j++) {
+                    check(i, j);
+                }
+            }
+        }
+    }
+    
+    private void check(int skipA, int skipB) {
+        long key = FuzzyIndex.pack(query, queryLength, skipA, skipB);
+        int bound = bestDistance - 1;
+        for (int entry = index.first(key); entry >= 0; entry = index.next(entry)) {
+            if (Math.abs(queryLength - index.wordLengthAt(entry)) > bound) {
+                continue;
+            }
+            int word = index.wordAt(entry);
+            if (checked[word] == stamp) {
+                continue;
+            }
+            checked[word] = stamp;
+            
+            int distance = distance(dictionary.getWord(word), bound);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestWord = word;
+                bound = distance - 1;
+            }
+        }
+    }
+    
+    /**
+     * Edit distance between the query and a word, counting a swap of neighbours as one edit.
+     * Gives up early with bound + 1 once the distance is sure to be over the bound.
+     */
+    private int distance(String word, int bound) {
+        int wordLength = word.length();
+        if (Math.abs(queryLength - wordLength) > bound) {
+            return bound + 1;
+        }
+        
+        for (int j = 0; j <= wordLength; j++) {
+            oneBack[j] = j;
+        }
+        
+        for (int i = 1; i <= queryLength; i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= wordLength; j++) {
+                int cost = query[i - 1] == word.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(oneBack[j] + 1, current[j - 1] + 1), oneBack[j - 1] + cost);
+                
+                // Two neighbouring letters swapped
+                if (i > 1 && j > 1 && query[i - 1] == word.charAt(j - 2) && query[i - 2] == word.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            
+            int[] recycled = twoBack;
+            twoBack = oneBack;
+            oneBack = current;
+            current = recycled;
+        }
+        return oneBack[wordLength];
+    }
+}
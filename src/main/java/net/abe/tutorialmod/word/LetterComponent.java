@@ -0,0 +1,90 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+import java.util.Arrays;
+
+/**
+ * A reusable flood fill over the letter blocks connected to a position within one plane,
+ * such as a crossword board on a wall or on the floor.
+ */
+public final class LetterComponent {
+    
+    // The four directions that stay inside the plane, indexed by the plane's normal axis
+    private static final Direction[][] PLANE_DIRECTIONS = new Direction[3][];
+    
+    static {
+        for (Direction.Axis normal : Direction.Axis.values()) {
+            PLANE_DIRECTIONS[normal.ordinal()] = Arrays.stream(Direction.values())
+                .filter(direction -> direction.getAxis() != normal)
+                .toArray(Direction[]::new);
+        }
+    }
+    
+    // Letters found so far - also used as the flood fill queue
+    private long[] positions = new long[64];
+    private int size;
+    
+    private final LongOpenHashSet visited = new LongOpenHashSet();
+    
+    /**
+     * Collect the letters connected to origin in the plane with the given normal, stopping at maxSize letters.
+     * Every letter collected is also added to seen, so later placements in the same component can skip it.
+     *
+     * @return false if there is no letter at origin
+     */
+    public boolean collect(LetterSource letters, BlockPos origin, Direction.Axis normal, int maxSize, LongSet seen) {
+        size = 0;
+        visited.clear();
+        
+        if (letters.letterAt(origin.getX(), origin.getY(), origin.getZ()) == '\0') {
+            return false;
+        }
+        
+        Direction[] directions = PLANE_DIRECTIONS[normal.ordinal()];
+        add(origin.asLong());
+        
+        for (int head = 0; head < size && size < maxSize; head++) {
+            long pos = positions[head];
+            for (Direction direction : directions) {
+                long next = BlockPos.offset(pos, direction);
+                if (visited.contains(next)) {
+                    continue;
+                }
+                if (letters.letterAt(BlockPos.getX(next), BlockPos.getY(next), BlockPos.getZ(next)) != '\0') {
+                    add(next);
+                    if (size >= maxSize) {
+                        break;
+                    }
+                }
+            }
+        }
+        
+        for (int i = 0; i < size; i++) {
+            seen.add(positions[i]);
+        }
+        return true;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Get a collected letter's position, packed with {@link BlockPos#asLong}
+     */
+    public long position(int index) {
+        return positions[index];
+    }
+    
+    private void add(long pos) {
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        positions[size++] = pos;
+        visited.add(pos);
+    }
+}
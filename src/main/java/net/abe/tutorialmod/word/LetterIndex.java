@@ -0,0 +1,227 @@
+package net.abe.tutorialmod.word;
+
+import net.abe.tutorialmod.AlphabetBlocks;
+import net.abe.tutorialmod.LetterBlock;
+import net.abe.tutorialmod.ModAttachments;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.neoforged.neoforge.attachment.IAttachmentHolder;
+
+/**
+ * Remembers which blocks in a chunk are letter blocks and which letter each one is,
+ * so word scans don't have to look up block states.
+ * Sections without letters store nothing, and a chunk with no letters answers every lookup from one check.
+ */
+public final class LetterIndex {
+    
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    
+    // Per section: a bitset of letter positions, or null when the section has no letters
+    private final long[][] occupied;
+    
+    // Per section: the letter at each position, 0 where there is none
+    private final byte[][] letters;
+    
+    // Per section: how many letters it holds, so empty sections can be dropped
+    private final int[] counts;
+    
+    private final int minSection;
+    private int total;
+    
+    public LetterIndex(int minSection, int sectionCount) {
+        this.minSection = minSection;
+        this.occupied = new long[sectionCount][];
+        this.letters = new byte[sectionCount][];
+        this.counts = new int[sectionCount];
+    }
+    
+    /**
+     * Build the index for a chunk from its block states.
+     * Only sections whose palette could contain a letter block are walked.
+     */
+    public static LetterIndex scan(IAttachmentHolder holder) {
+        if (!(holder instanceof ChunkAccess chunk)) {
+            return new LetterIndex(0, 0);
+        }
+        
+        LetterIndex index = new LetterIndex(chunk.getMinSection(), chunk.getSectionsCount());
+        LevelChunkSection[] sections = chunk.getSections();
+        
+        for (int section = 0; section < sections.length; section++) {
+            LevelChunkSection chunkSection = sections[section];
+            if (chunkSection.hasOnlyAir() || !chunkSection.maybeHas(state -> state.getBlock() instanceof LetterBlock)) {
+                continue;
+            }
+            
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        char letter = AlphabetBlocks.getLetterFromBlock(chunkSection.getBlockState(x, y, z).getBlock());
+                        if (letter != '\0') {
+                            index.set(section, localIndex(x, y, z), letter);
+                        }
+                    }
+                }
+            }
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Get the letter at a position in a loaded chunk, or '\0' if there is none or the chunk isn't loaded
+     */
+    public static char letterAt(Level level, BlockPos pos) {
+        LevelChunk chunk = level.getChunkSource().getChunkNow(pos.getX() >> 4, pos.getZ() >> 4);
+        return chunk == null ? '\0' : chunk.getData(ModAttachments.LETTER_INDEX).getLetter(pos.getX(), pos.getY(), pos.getZ());
+    }
+    
+    /**
+     * Record that a position now holds a letter, or no letter when letter is '\0'.
+     * Chunks whose index hasn't been built yet are skipped - they will see the change when it is built.
+     */
+    public static void update(Level level, BlockPos pos, char letter) {
+        LevelChunk chunk = level.getChunkSource().getChunkNow(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunk != null && chunk.hasData(ModAttachments.LETTER_INDEX)) {
+            chunk.getData(ModAttachments.LETTER_INDEX).set(pos.getX(), pos.getY(), pos.getZ(), letter);
+        }
+    }
+    
+    /**
+     * Get the letter at a position in this chunk, or '\0' if there is none
+     */
+    public char getLetter(int x, int y, int z) {
+        if (total == 0) {
+            return '\0';
+        }
+        int section = (y >> 4) - minSection;
+        if (section < 0 || section >= letters.length || letters[section] == null) {
+            return '\0';
+        }
+        return (char) letters[section][localIndex(x & 15, y & 15, z & 15)];
+    }
+    
+    /**
+     * Set the letter at a position in this chunk, or clear it with '\0'
+     */
+    public void set(int x, int y, int z, char letter) {
+        int section = (y >> 4) - minSection;
+        if (section >= 0 && section < letters.length) {
+            set(section, localIndex(x & 15, y & 15, z & 15), letter);
+        }
+    }
+    
+    public boolean isEmpty() {
+        return total == 0;
+    }
+    
+    /**
+     * Get how many letter blocks are in this chunk
+     */
+    public int count() {
+        return total;
+    }
+    
+    /**
+     * Visit every letter block in this chunk, section by section
+     */
+    public void forEachLetter(ChunkPos chunkPos, LetterVisitor visitor) {
+        for (int section = 0; section < occupied.length; section++) {
+            long[] bits = occupied[section];
+            if (bits == null) {
+                continue;
+            }
+            
+            int baseY = (minSection + section) << 4;
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    int index = (word << 6) | Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    visitor.visit(
+                        chunkPos.getMinBlockX() + (index & 15),
+                        baseY + (index >> 8),
+                        chunkPos.getMinBlockZ() + ((index >> 4) & 15),
+                        (char) letters[section][index]
+                    );
+                }
+            }
+        }
+    }
+    
+    private void set(int section, int index, char letter) {
+        boolean had = occupied[section] != null && (occupied[section][index >> 6] & (1L << index)) != 0;
+        
+        if (letter == '\0') {
+            if (had) {
+                occupied[section][index >> 6] &= ~(1L << index);
+                letters[section][index] = 0;
+                total--;
+                if (--counts[section] == 0) {
+                    occupied[section] = null;
+                    letters[section] = null;
+                }
+            }
+            return;
+        }
+        
+        if (occupied[section] == null) {
+            occupied[section] = new long[SECTION_VOLUME / 64];
+            letters[section] = new byte[SECTION_VOLUME];
+        }
+        if (!had) {
+            occupied[section][index >> 6] |= 1L << index;
+            counts[section]++;
+            total++;
+        }
+        letters[section][index] = (byte) letter;
+    }
+    
+    private static int localIndex(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+    
+    /**
+     * Called for each letter block found by {@link #forEachLetter}
+     */
+    @FunctionalInterface
+    public interface LetterVisitor {
+        void visit(int x, int y, int z, char letter);
+    }
+    
+    /**
+     * A {@link LetterSource} backed by the chunk indexes of a level.
+     * Remembers the last chunk it looked in, since runs of letters are usually inside one chunk.
+     * Bind it to a level before each scan.
+     */
+    public static final class Lookup implements LetterSource {
+        
+        private Level level;
+        private long cachedChunk;
+        private LetterIndex cachedIndex;
+        private boolean hasCachedChunk;
+        
+        public Lookup bind(Level level) {
+            this.level = level;
+            this.hasCachedChunk = false;
+            this.cachedIndex = null;
+            return this;
+        }
+        
+        @Override
+        public char letterAt(int x, int y, int z) {
+            long chunkKey = ChunkPos.asLong(x >> 4, z >> 4);
+            if (!hasCachedChunk || chunkKey != cachedChunk) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(x >> 4, z >> 4);
+                cachedIndex = chunk == null ? null : chunk.getData(ModAttachments.LETTER_INDEX);
+                cachedChunk = chunkKey;
+                hasCachedChunk = true;
+            }
+            return cachedIndex == null ? '\0' : cachedIndex.getLetter(x, y, z);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.abe.tutorialmod.LetterBlock;
+import net.abe.tutorialmod.ModAttachments;
+import net.abe.tutorialmod.TutorialMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers which player placed each letter block and when, so spelled words can be credited to them.
+ * Only placements by players since the server started are known;
+ * letters from before then, or placed by dispensers and commands, have no placer.
+ */
+@EventBusSubscriber(modid = TutorialMod.MODID)
+public final class LetterPlacers {
+    
+    public record Placement(UUID player, long gameTime) {
+    }
+    
+    // Who placed the letter at each packed block position, per dimension
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Placement>> PLACEMENTS = new HashMap<>();
+    
+    private LetterPlacers() {
+    }
+    
+    // Lowest priority so placements another handler cancels aren't counted
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onBlockPlaced(BlockEvent.EntityPlaceEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)
+            || !(event.getPlacedBlock().getBlock() instanceof LetterBlock)) {
+            return;
+        }
+        
+        Level level = player.level();
+        PLACEMENTS.computeIfAbsent(level.dimension(), key -> new Long2ObjectOpenHashMap<>())
+            .put(event.getPos().asLong(), new Placement(player.getUUID(), level.getGameTime()));
+        player.getData(ModAttachments.SPELL_STATS).recordAttempt();
+    }
+    
+    /**
+     * Get who placed the letter at a packed position, or null if nobody is known to have
+     */
+    @Nullable
+    public static Placement get(Level level, long pos) {
+        Long2ObjectOpenHashMap<Placement> placements = PLACEMENTS.get(level.dimension());
+        return placements == null ? null : placements.get(pos);
+    }
+    
+    /**
+     * Forget who placed a letter once it is gone
+     */
+    public static void forget(Level level, BlockPos pos) {
+        Long2ObjectOpenHashMap<Placement> placements = PLACEMENTS.get(level.dimension());
+        if (placements != null) {
+            placements.remove(pos.asLong());
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        PLACEMENTS.clear();
+    }
+}
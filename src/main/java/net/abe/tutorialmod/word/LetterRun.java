@@ -0,0 +1,130 @@
+package net.abe.tutorialmod.word;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+import java.util.Arrays;
+
+/**
+ * A reusable snapshot of a straight line of letter blocks: the letters, and where each one is.
+ * Letters are stored in the axis' positive direction (west to east, bottom to top, north to south).
+ */
+public final class LetterRun {
+    
+    private char[] letters = new char[16];
+    private long[] positions = new long[16];
+    private int length;
+    
+    // Walks along the axis without allocating a BlockPos per step
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+    
+    /**
+     * Read the run of letter blocks through origin along an axis.
+     * Each position in the run is looked up exactly once, plus one non-letter at each end.
+     *
+     * @return false if there is no letter at origin
+     */
+    public boolean read(LetterSource source, BlockPos origin, Direction.Axis axis) {
+        length = 0;
+        
+        char originLetter = letterAt(source, cursor.set(origin));
+        if (originLetter == '\0') {
+            return false;
+        }
+        
+        Direction forward = Direction.fromAxisAndDirection(axis, Direction.AxisDirection.POSITIVE);
+        Direction backward = forward.getOpposite();
+        char letter;
+        
+        // Walk backwards first, then flip those letters into reading order
+        while ((letter = letterAt(source, cursor.move(backward))) != '\0') {
+            add(letter, cursor.asLong());
+        }
+        reverse();
+        
+        add(originLetter, origin.asLong());
+        
+        // Then carry on forwards from the origin
+        cursor.set(origin);
+        while ((letter = letterAt(source, cursor.move(forward))) != '\0') {
+            add(letter, cursor.asLong());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Find every dictionary word in the run.
+     * The run is read forwards and then backwards, so a word spelled in either direction counts,
+     * and overlapping matches are narrowed down to the longest ones.
+     */
+    public void findWords(WordDictionary dictionary, WordMatches matches) {
+        matches.clear();
+        
+        int state = WordDictionary.ROOT;
+        for (int i = 0; i < length; i++) {
+            state = dictionary.step(state, letters[i]);
+            matches.addEndingAt(dictionary, state, i + 1);
+        }
+        
+        state = WordDictionary.ROOT;
+        for (int i = length - 1; i >= 0; i--) {
+            state = dictionary.step(state, letters[i]);
+            matches.addStartingAt(dictionary, state, i);
+        }
+        
+        matches.keepLongestNonOverlapping();
+    }
+    
+    /**
+     * Make a copy of this run that can be handed to another thread
+     */
+    public LetterRun copy() {
+        LetterRun copy = new LetterRun();
+        copy.letters = Arrays.copyOf(letters, Math.max(length, 1));
+        copy.positions = Arrays.copyOf(positions, Math.max(length, 1));
+        copy.length = length;
+        return copy;
+    }
+    
+    public int length() {
+        return length;
+    }
+    
+    public char letter(int index) {
+        return letters[index];
+    }
+    
+    /**
+     * Get a letter's position, packed with {@link BlockPos#asLong}
+     */
+    public long position(int index) {
+        return positions[index];
+    }
+    
+    private void add(char letter, long position) {
+        if (length == letters.length) {
+            letters = Arrays.copyOf(letters, length * 2);
+            positions = Arrays.copyOf(positions, length * 2);
+        }
+        letters[length] = letter;
+        positions[length] = position;
+        length++;
+    }
+    
+    private void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            char letter = letters[i];
+            letters[i] = letters[j];
+            letters[j] = letter;
+            
+            long position = positions[i];
+            positions[i] = positions[j];
+            positions[j] = position;
+        }
+    }
+    
+    private static char letterAt(LetterSource source, BlockPos pos) {
+        return source.letterAt(pos.getX(), pos.getY(), pos.getZ());
+    }
+}
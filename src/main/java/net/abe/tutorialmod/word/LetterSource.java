@@ -0,0 +1,13 @@
+package net.abe.tutorialmod.word;
+
+/**
+ * Something that can say which letter block, if any, is at a position
+ */
+@FunctionalInterface
+public interface LetterSource {
+    
+    /**
+     * Get the lowercase letter at a position, or '\0' if there is no letter block there
+     */
+    char letterAt(int x, int y, int z);
+}
@@ -0,0 +1,92 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects word rewards during a tick and spawns them at the end of it.
+ * Rewards landing on the same block in one tick are merged into as few item entities as possible,
+ * and the success sound plays once per spot instead of once per word.
+ */
+public final class RewardSpawner {
+    
+    // Rewards waiting to be spawned, per dimension, keyed by packed block position
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<List<ItemStack>>> PENDING = new HashMap<>();
+    
+    private RewardSpawner() {
+    }
+    
+    /**
+     * Queue a reward to drop at a position at the end of this tick. The stack is copied.
+     */
+    public static void add(Level level, BlockPos pos, ItemStack reward) {
+        List<ItemStack> stacks = PENDING.computeIfAbsent(level.dimension(), key -> new Long2ObjectOpenHashMap<>())
+            .computeIfAbsent(pos.asLong(), key -> new ArrayList<>(1));
+        
+        // Top up a matching stack if it has room, otherwise start a new one
+        for (ItemStack stack : stacks) {
+            if (ItemStack.isSameItemSameComponents(stack, reward)
+                && stack.getCount() + reward.getCount() <= stack.getMaxStackSize()) {
+                stack.grow(reward.getCount());
+                return;
+            }
+        }
+        stacks.add(reward.copy());
+    }
+    
+    /**
+     * Spawn every reward queued for a level. Must run on the server thread.
+     */
+    public static void flush(ServerLevel level) {
+        Long2ObjectOpenHashMap<List<ItemStack>> pending = PENDING.get(level.dimension());
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        
+        for (Long2ObjectMap.Entry<List<ItemStack>> entry : pending.long2ObjectEntrySet()) {
+            BlockPos pos = BlockPos.of(entry.getLongKey());
+            for (ItemStack stack : entry.getValue()) {
+                ItemEntity itemEntity = new ItemEntity(
+                    level,
+                    pos.getX() + 0.5,
+                    pos.getY() + 0.5,
+                    pos.getZ() + 0.5,
+                    stack
+                );
+                itemEntity.setDefaultPickUpDelay();
+                level.addFreshEntity(itemEntity);
+            }
+            
+            // Play success sound
+            level.playSound(
+                null,
+                pos,
+                SoundEvents.PLAYER_LEVELUP,
+                SoundSource.BLOCKS,
+                1.0f,
+                1.0f
+            );
+        }
+        pending.clear();
+    }
+    
+    /**
+     * Drop everything still queued, for when the server stops
+     */
+    public static void clear() {
+        PENDING.clear();
+    }
+}
@@ -0,0 +1,126 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.neoforged.neoforge.common.util.INBTSerializable;
+
+/**
+ * A player's spelling statistics, saved with the player.
+ * Words are counted by their {@link WordIds} number, so looking one up costs the same however many words there are.
+ */
+public final class SpellStats implements INBTSerializable<CompoundTag> {
+    
+    // Letter blocks placed - every one is a try at finishing a word
+    private int attempts;
+    private int wordsSpelled;
+    private long lettersUsed;
+    
+    // Game ticks from placing a word's first letter to its last, added up over all words
+    private long totalSpellTicks;
+    private long fastestSpellTicks = -1;
+    
+    // Times spelled, by word number
+    private final Int2IntOpenHashMap wordCounts = new Int2IntOpenHashMap();
+    
+    public void recordAttempt() {
+        attempts++;
+    }
+    
+    /**
+     * Record a spelled word
+     *
+     * @param wordId the word's {@link WordIds} number
+     * @param spellTicks game ticks between placing the first and the last letter
+     */
+    public void recordWord(int wordId, int length, long spellTicks) {
+        wordsSpelled++;
+        lettersUsed += length;
+        totalSpellTicks += spellTicks;
+        if (fastestSpellTicks < 0 || spellTicks < fastestSpellTicks) {
+            fastestSpellTicks = spellTicks;
+        }
+        wordCounts.addTo(wordId, 1);
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public int getWordsSpelled() {
+        return wordsSpelled;
+    }
+    
+    public long getLettersUsed() {
+        return lettersUsed;
+    }
+    
+    /**
+     * Get the average game ticks taken to spell a word, or 0 if none have been spelled
+     */
+    public long getAverageSpellTicks() {
+        return wordsSpelled == 0 ? 0 : totalSpellTicks / wordsSpelled;
+    }
+    
+    /**
+     * Get the fewest game ticks taken to spell a word, or -1 if none have been spelled
+     */
+    public long getFastestSpellTicks() {
+        return fastestSpellTicks;
+    }
+    
+    /**
+     * Get how many times a word has been spelled, by its {@link WordIds} number
+     */
+    public int timesSpelled(int wordId) {
+        return wordCounts.get(wordId);
+    }
+    
+    /**
+     * Get the times spelled for every word, by {@link WordIds} number
+     */
+    public Int2IntMap getWordCounts() {
+        return Int2IntMaps.unmodifiable(wordCounts);
+    }
+    
+    @Override
+    public CompoundTag serializeNBT(HolderLookup.Provider provider) {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("attempts", attempts);
+        tag.putInt("wordsSpelled", wordsSpelled);
+        tag.putLong("lettersUsed", lettersUsed);
+        tag.putLong("totalSpellTicks", totalSpellTicks);
+        tag.putLong("fastestSpellTicks", fastestSpellTicks);
+        
+        // Two parallel int arrays rather than a tag per word
+        int[] ids = new int[wordCounts.size()];
+        int[] counts = new int[wordCounts.size()];
+        int i = 0;
+        for (Int2IntMap.Entry entry : wordCounts.int2IntEntrySet()) {
+            ids[i] = entry.getIntKey();
+            counts[i] = entry.getIntValue();
+            i++;
+        }
+        tag.putIntArray("wordIds", ids);
+        tag.putIntArray("wordCounts", counts);
+        return tag;
+    }
+    
+    @Override
+    public void deserializeNBT(HolderLookup.Provider provider, CompoundTag tag) {
+        attempts = tag.getInt("attempts");
+        wordsSpelled = tag.getInt("wordsSpelled");
+        lettersUsed = tag.getLong("lettersUsed");
+        totalSpellTicks = tag.getLong("totalSpellTicks");
+        fastestSpellTicks = tag.contains("fastestSpellTicks") ? tag.getLong("fastestSpellTicks") : -1;
+        
+        wordCounts.clear();
+        int[] ids = tag.getIntArray("wordIds");
+        int[] counts = tag.getIntArray("wordCounts");
+        for (int i = 0; i < Math.min(ids.length, counts.length); i++) {
+            wordCounts.put(ids[i], counts[i]);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.abe.tutorialmod.word;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import net.abe.tutorialmod.ModAttachments;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Locale;
+
+/**
+ * Command that shows a player's spelling statistics.
+ * Only reads that one player's data, so it costs the same however many players have spelled.
+ * Usage: /spellstats [player] - looking at another player needs permission level 2
+ */
+public class SpellStatsCommand {
+    
+    private static final int TOP_WORDS = 5;
+    
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(
+            Commands.literal("spellstats")
+                .executes(context -> showStats(context.getSource(), context.getSource().getPlayerOrException()))
+                .then(Commands.argument("player", EntityArgument.player())
+                    .requires(source -> source.hasPermission(2))
+                    .executes(context -> showStats(context.getSource(), EntityArgument.getPlayer(context, "player"))))
+        );
+    }
+    
+    private static int showStats(CommandSourceStack source, ServerPlayer player) throws CommandSyntaxException {
+        SpellStats stats = player.getData(ModAttachments.SPELL_STATS);
+        String name = player.getGameProfile().getName();
+        
+        source.sendSuccess(() -> Component.literal(name + " spelled " + stats.getWordsSpelled() + " words using "
+            + stats.getLettersUsed() + " letters, from " + stats.getAttempts() + " letters placed"), false);
+        if (stats.getWordsSpelled() == 0) {
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Average time per word: " + seconds(stats.getAverageSpellTicks())
+            + ", fastest: " + seconds(stats.getFastestSpellTicks())), false);
+        
+        // Keep the few most spelled words in a small sorted array instead of sorting the whole history
+        int[] topIds = new int[TOP_WORDS];
+        int[] topCounts = new int[TOP_WORDS];
+        int top = 0;
+        for (Int2IntMap.Entry entry : stats.getWordCounts().int2IntEntrySet()) {
+            int count = entry.getIntValue();
+            if (top == TOP_WORDS && count <= topCounts[TOP_WORDS - 1]) {
+                continue;
+            }
+            int i = top < TOP_WORDS ? top++ : TOP_WORDS - 1;
+            while (i > 0 && topCounts[i - 1] < count) {
+                topIds[i] = topIds[i - 1];
+                topCounts[i] = topCounts[i - 1];
+                i--;
+            }
+            topIds[i] = entry.getIntKey();
+            topCounts[i] = count;
+        }
+        
+        WordIds wordIds = WordIds.get(source.getServer());
+        StringBuilder words = new StringBuilder("Most spelled:");
+        for (int i = 0; i < top; i++) {
+            String word = wordIds.word(topIds[i]);
+            words.append(' ').append(word != null ? word : "?").append(" x").append(topCounts[i]);
+            if (i < top - 1) {
+                words.append(',');
+            }
+        }
+        source.sendSuccess(() -> Component.literal(words.toString()), false);
+        
+        return stats.getWordsSpelled();
+    }
+    
+    private static String seconds(long ticks) {
+        return String.format(Locale.ROOT, "%.1fs", ticks / 20.0);
+    }
+}
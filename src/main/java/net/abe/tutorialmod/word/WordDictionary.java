@@ -0,0 +1,328 @@
+package net.abe.tutorialmod.word;
+
+import net.abe.tutorialmod.TutorialMod;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A compiled word list that finds every dictionary word inside a run of letters.
+ * It is an Aho-Corasick automaton: feed it one letter at a time and it reports
+ * each word that ends at that letter, longest first.
+ */
+public final class WordDictionary {
+    
+    // The state every scan starts from
+    public static final int ROOT = 0;
+    
+    // Shortest word we will ever reward
+    public static final int MIN_WORD_LENGTH = 2;
+    
+    // Letters a-z
+    private static final int ALPHABET = 26;
+    
+    // transitions[state * 26 + letter] is the next state, with failure links already folded in
+    private final int[] transitions;
+    
+    // Word id that ends exactly at a state, or -1
+    private final int[] wordAtState;
+    
+    // Next shorter state on the failure chain that ends a word, or -1
+    private final int[] nextOutput;
+    
+    // The plain trie as child lists, for walks that need the real edges rather than failure links.
+    // 0 means none, since the root is never a child.
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final char[] edgeLetter;
+    
+    private final String[] words;
+    private final ItemStack[] rewards;
+    private final int maxWordLength;
+    
+    // Built the first time a fuzzy lookup needs it
+    private volatile FuzzyIndex fuzzyIndex;
+    
+    // Set once a build of the fuzzy index has been started on another thread
+    private final AtomicBoolean fuzzyIndexRequested = new AtomicBoolean();
+    
+    private WordDictionary(int[] transitions, int[] wordAtState, int[] nextOutput,
+                           int[] firstChild, int[] nextSibling, char[] edgeLetter,
+                           String[] words, ItemStack[] rewards) {
+        this.transitions = transitions;
+        this.wordAtState = wordAtState;
+        this.nextOutput = nextOutput;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.edgeLetter = edgeLetter;
+        this.words = words;
+        this.rewards = rewards;
+        
+        int longest = 0;
+        for (String word : words) {
+            longest = Math.max(longest, word.length());
+        }
+        this.maxWordLength = longest;
+    }
+    
+    /**
+     * Compile a word-to-reward map into a dictionary.
+     * Words are lowercased; anything that isn't made of a-z is skipped.
+     */
+    public static WordDictionary compile(Map<String, ItemStack> entries) {
+        // Worst case every letter of every word is a new state
+        int capacity = 1;
+        for (String word : entries.keySet()) {
+            capacity += word.length();
+        }
+        
+        int[] trie = new int[capacity * ALPHABET]; // 0 means "no child", the root is never a child
+        int[] wordAtState = new int[capacity];
+        Arrays.fill(wordAtState, -1);
+        int[] firstChild = new int[capacity];
+        int[] nextSibling = new int[capacity];
+        char[] edgeLetter = new char[capacity];
+        List<String> words = new ArrayList<>();
+        List<ItemStack> rewards = new ArrayList<>();
+        int stateCount = 1;
+        
+        // Build the plain trie
+        for (Map.Entry<String, ItemStack> entry : entries.entrySet()) {
+            String word = entry.getKey().toLowerCase(Locale.ROOT);
+            if (!isValidWord(word)) {
+                TutorialMod.LOGGER.warn("Skipping word '{}' - words must be at least {} letters a-z", entry.getKey(), MIN_WORD_LENGTH);
+                continue;
+            }
+            
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                int index = state * ALPHABET + (word.charAt(i) - 'a');
+                if (trie[index] == 0) {
+                    int child = stateCount++;
+                    trie[index] = child;
+                    edgeLetter[child] = word.charAt(i);
+                    nextSibling[child] = firstChild[state];
+                    firstChild[state] = child;
+                }
+                state = trie[index];
+            }
+            
+            if (wordAtState[state] < 0) {
+                wordAtState[state] = words.size();
+                words.add(word);
+                rewards.add(entry.getValue().copy());
+            } else {
+                // Same word with different casing - the last one wins
+                rewards.set(wordAtState[state], entry.getValue().copy());
+            }
+        }
+        
+        // Breadth-first pass to add failure links and fold them into the transition table
+        int[] fail = new int[stateCount];
+        int[] nextOutput = new int[stateCount];
+        Arrays.fill(nextOutput, -1);
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            int child = trie[letter];
+            if (child != 0) {
+                fail[child] = ROOT;
+                queue[tail++] = child;
+            }
+        }
+        
+        while (head < tail) {
+            int state = queue[head++];
+            int failState = fail[state];
+            nextOutput[state] = wordAtState[failState] >= 0 ? failState : nextOutput[failState];
+            
+            for (int letter = 0; letter < ALPHABET; letter++) {
+                int index = state * ALPHABET + letter;
+                int fallback = trie[failState * ALPHABET + letter];
+                if (trie[index] != 0) {
+                    fail[trie[index]] = fallback;
+                    queue[tail++] = trie[index];
+                } else {
+                    trie[index] = fallback;
+                }
+            }
+        }
+        
+        return new WordDictionary(
+            Arrays.copyOf(trie, stateCount * ALPHABET),
+            Arrays.copyOf(wordAtState, stateCount),
+            nextOutput,
+            Arrays.copyOf(firstChild, stateCount),
+            Arrays.copyOf(nextSibling, stateCount),
+            Arrays.copyOf(edgeLetter, stateCount),
+            words.toArray(new String[0]),
+            rewards.toArray(new ItemStack[0])
+        );
+    }
+    
+    /**
+     * Check that a lowercase word only uses a-z and is long enough to reward
+     */
+    public static boolean isValidWord(String word) {
+        if (word.length() < MIN_WORD_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Move the automaton forward by one letter.
+     * Anything that isn't a-z sends it back to the root.
+     */
+    public int step(int state, char letter) {
+        int index = letter - 'a';
+        if (index < 0 || index >= ALPHABET) {
+            return ROOT;
+        }
+        return transitions[state * ALPHABET + index];
+    }
+    
+    /**
+     * Get the longest word ending at this state, as a match state, or -1 if none.
+     * Follow with {@link #nextMatch} to walk the shorter words ending here.
+     */
+    public int firstMatch(int state) {
+        return wordAtState[state] >= 0 ? state : nextOutput[state];
+    }
+    
+    /**
+     * Get the next shorter word ending at the same letter, or -1 when there are no more
+     */
+    public int nextMatch(int matchState) {
+        return nextOutput[matchState];
+    }
+    
+    /**
+     * Get the first child of a state in the plain trie, or 0 if it has none.
+     * Use {@link #nextSibling} for the rest, and {@link #edgeLetter} for the letter leading to each.
+     */
+    public int firstChild(int state) {
+        return firstChild[state];
+    }
+    
+    /**
+     * Get the next child of the same parent in the plain trie, or 0 when there are no more
+     */
+    public int nextSibling(int state) {
+        return nextSibling[state];
+    }
+    
+    /**
+     * Get the letter on the trie edge leading into a state
+     */
+    public char edgeLetter(int state) {
+        return edgeLetter[state];
+    }
+    
+    /**
+     * Get the word id that ends exactly at a state, or -1.
+     * Works for match states returned by {@link #firstMatch} or {@link #nextMatch}, and for any trie state.
+     */
+    public int wordAt(int matchState) {
+        return wordAtState[matchState];
+    }
+    
+    /**
+     * Get the id of a lowercase word, or -1 if it isn't in the dictionary
+     */
+    public int indexOf(String word) {
+        int state = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            state = step(state, word.charAt(i));
+        }
+        
+        // Steps follow the trie while the word is in it, so anything else ends on some other word or none
+        int wordId = wordAtState[state];
+        return wordId >= 0 && words[wordId].equals(word) ? wordId : -1;
+    }
+    
+    public String getWord(int wordId) {
+        return words[wordId];
+    }
+    
+    public int getWordLength(int wordId) {
+        return words[wordId].length();
+    }
+    
+    /**
+     * Get the reward for a word. Callers must copy it before handing it out.
+     */
+    public ItemStack getReward(int wordId) {
+        return rewards[wordId];
+    }
+    
+    public int size() {
+        return words.length;
+    }
+    
+    public int getMaxWordLength() {
+        return maxWordLength;
+    }
+    
+    /**
+     * Get the index for fuzzy lookups, building it on first use. Safe to call from any thread.
+     */
+    public FuzzyIndex fuzzyIndex() {
+        FuzzyIndex index = fuzzyIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = fuzzyIndex;
+                if (index == null) {
+                    index = FuzzyIndex.build(this);
+                    fuzzyIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * Check whether the index for fuzzy lookups is built, starting a build on an executor if it isn't yet.
+     * Lets the server thread skip fuzzy lookups until the index is ready, rather than build it in the middle of a tick.
+     */
+    public boolean isFuzzyIndexReady(Executor executor) {
+        if (fuzzyIndex != null) {
+            return true;
+        }
+        if (fuzzyIndexRequested.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::fuzzyIndex, executor)
+                .exceptionally(e -> {
+                    TutorialMod.LOGGER.error("Building the fuzzy word index failed", e);
+                    return null;
+                });
+        }
+        return false;
+    }
+    
+    /**
+     * Get all words and rewards, in compile order
+     */
+    public Map<String, ItemStack> toMap() {
+        Map<String, ItemStack> map = new LinkedHashMap<>();
+        for (int i = 0; i < words.length; i++) {
+            map.put(words[i], rewards[i]);
+        }
+        return map;
+    }
+}
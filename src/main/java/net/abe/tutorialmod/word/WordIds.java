@@ -0,0 +1,81 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.abe.tutorialmod.TutorialMod;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives every word ever spelled on the server a small, permanent number.
+ * Player stats store these numbers instead of the words, and they stay the same across dictionary reloads,
+ * unlike the ids in {@link WordDictionary}. Saved with the overworld.
+ */
+public final class WordIds extends SavedData {
+    
+    private static final String DATA_NAME = TutorialMod.MODID + "_word_ids";
+    
+    private final List<String> words = new ArrayList<>();
+    private final Object2IntOpenHashMap<String> ids = new Object2IntOpenHashMap<>();
+    
+    private WordIds() {
+        ids.defaultReturnValue(-1);
+    }
+    
+    public static WordIds get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(
+            new SavedData.Factory<>(WordIds::new, WordIds::load, null), DATA_NAME
+        );
+    }
+    
+    /**
+     * Get the number for a word, giving it the next free one if it doesn't have one yet
+     */
+    public int intern(String word) {
+        int id = ids.getInt(word);
+        if (id < 0) {
+            id = words.size();
+            words.add(word);
+            ids.put(word, id);
+            setDirty();
+        }
+        return id;
+    }
+    
+    /**
+     * Get the word with a number, or null if no word has it
+     */
+    @Nullable
+    public String word(int id) {
+        return id >= 0 && id < words.size() ? words.get(id) : null;
+    }
+    
+    private static WordIds load(CompoundTag tag, HolderLookup.Provider registries) {
+        WordIds wordIds = new WordIds();
+        ListTag list = tag.getList("words", Tag.TAG_STRING);
+        for (int i = 0; i < list.size(); i++) {
+            String word = list.getString(i);
+            wordIds.ids.put(word, wordIds.words.size());
+            wordIds.words.add(word);
+        }
+        return wordIds;
+    }
+    
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider registries) {
+        ListTag list = new ListTag();
+        for (String word : words) {
+            list.add(StringTag.valueOf(word));
+        }
+        tag.put("words", list);
+        return tag;
+    }
+}
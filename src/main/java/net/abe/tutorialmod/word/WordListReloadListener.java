@@ -0,0 +1,119 @@
+package net.abe.tutorialmod.word;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.abe.tutorialmod.Config;
+import net.abe.tutorialmod.TutorialMod;
+import net.abe.tutorialmod.WordDetectionSystem;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.FileToIdConverter;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.AddReloadListenerEvent;
+
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Loads word lists from datapacks at data/<namespace>/words/*.json.
+ * The lists are read and compiled off the main thread, then swapped in all at once.
+ *
+ * Each file looks like:
+ * {"words": {"cat": "minecraft:string", "gem": {"item": "minecraft:diamond", "count": 2}}}
+ */
+@EventBusSubscriber(modid = TutorialMod.MODID)
+public class WordListReloadListener extends SimplePreparableReloadListener<WordListReloadListener.LoadedWords> {
+    
+    private static final FileToIdConverter WORD_LISTS = FileToIdConverter.json("words");
+    
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddReloadListenerEvent event) {
+        event.addListener(new WordListReloadListener());
+    }
+    
+    /**
+     * Runs on a worker thread - read every word list and compile the dictionary
+     */
+    @Override
+    protected LoadedWords prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        long startTime = System.nanoTime();
+        
+        // Sort the files so later namespaces and names override earlier ones the same way every time
+        Map<ResourceLocation, Resource> files = new TreeMap<>(WORD_LISTS.listMatchingResources(resourceManager));
+        Map<String, ItemStack> words = new LinkedHashMap<>();
+        
+        for (Map.Entry<ResourceLocation, Resource> file : files.entrySet()) {
+            try (Reader reader = file.getValue().openAsReader()) {
+                JsonObject json = GsonHelper.parse(reader);
+                readWords(file.getKey(), GsonHelper.getAsJsonObject(json, "words"), words);
+            } catch (Exception e) {
+                TutorialMod.LOGGER.error("Couldn't load word list {}", file.getKey(), e);
+            }
+        }
+        
+        // Words added from code survive reloads
+        words.putAll(WordDetectionSystem.getExtraWords());
+        
+        WordDictionary dictionary = WordDictionary.compile(words);
+        
+        // Build the misspelling index here too, rather than on the first hint
+        if (Config.FUZZY_WORD_HINTS.getAsBoolean()) {
+            dictionary.fuzzyIndex();
+        }
+        return new LoadedWords(dictionary, files.size(), System.nanoTime() - startTime);
+    }
+    
+    /**
+     * Runs on the main thread - swap the new dictionary in
+     */
+    @Override
+    protected void apply(LoadedWords loaded, ResourceManager resourceManager, ProfilerFiller profiler) {
+        WordDetectionSystem.setDictionary(loaded.dictionary());
+        TutorialMod.LOGGER.info("Loaded {} words from {} word lists in {} ms",
+            loaded.dictionary().size(), loaded.fileCount(), loaded.loadNanos() / 1_000_000);
+    }
+    
+    /**
+     * Read one file's words, resolving each reward to an item stack
+     */
+    private static void readWords(ResourceLocation file, JsonObject json, Map<String, ItemStack> words) {
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            String itemId;
+            int count = 1;
+            
+            if (entry.getValue().isJsonObject()) {
+                JsonObject reward = entry.getValue().getAsJsonObject();
+                itemId = GsonHelper.getAsString(reward, "item");
+                count = GsonHelper.getAsInt(reward, "count", 1);
+            } else {
+                itemId = GsonHelper.convertToString(entry.getValue(), entry.getKey());
+            }
+            
+            ResourceLocation itemKey = ResourceLocation.tryParse(itemId);
+            Optional<Item> item = itemKey == null ? Optional.empty() : BuiltInRegistries.ITEM.getOptional(itemKey);
+            if (item.isEmpty()) {
+                TutorialMod.LOGGER.warn("Unknown reward item '{}' for word '{}' in {}", itemId, entry.getKey(), file);
+                continue;
+            }
+            
+            words.put(entry.getKey(), new ItemStack(item.get(), count));
+        }
+    }
+    
+    /**
+     * A compiled dictionary plus what it took to build it
+     */
+    record LoadedWords(WordDictionary dictionary, int fileCount, long loadNanos) {
+    }
+}
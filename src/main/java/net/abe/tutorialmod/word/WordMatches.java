@@ -0,0 +1,151 @@
+package net.abe.tutorialmod.word;
+
+import it.unimi.dsi.fastutil.Swapper;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+
+import java.util.Arrays;
+
+/**
+ * Reusable list of dictionary words found in a run of letters.
+ * Each match is stored as a [start, end) range of letter indices plus a word id.
+ */
+public final class WordMatches {
+    
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int[] wordIds = new int[8];
+    
+    // The order matches were added in, so equally good ones keep it through the sort
+    private int[] order = new int[8];
+    private int size;
+    
+    // taken[i] is set once a kept match covers letter i
+    private boolean[] taken = new boolean[16];
+    
+    // Made once, so sorting doesn't allocate
+    private final IntComparator bestFirst = this::compare;
+    private final Swapper swapper = this::swap;
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int start(int index) {
+        return starts[index];
+    }
+    
+    public int end(int index) {
+        return ends[index];
+    }
+    
+    public int wordId(int index) {
+        return wordIds[index];
+    }
+    
+    public void add(int start, int end, int wordId) {
+        if (size == starts.length) {
+            int newLength = size * 2;
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            wordIds = Arrays.copyOf(wordIds, newLength);
+            order = Arrays.copyOf(order, newLength);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        wordIds[size] = wordId;
+        order[size] = size;
+        size++;
+    }
+    
+    /**
+     * Add every dictionary word that ends at the given automaton state.
+     * {@code end} is the number of letters read so far.
+     */
+    public void addEndingAt(WordDictionary dictionary, int state, int end) {
+        for (int match = dictionary.firstMatch(state); match >= 0; match = dictionary.nextMatch(match)) {
+            int wordId = dictionary.wordAt(match);
+            add(end - dictionary.getWordLength(wordId), end, wordId);
+        }
+    }
+    
+    /**
+     * Add every dictionary word found while reading a run backwards.
+     * {@code start} is the index of the letter just read, which is where those words start.
+     */
+    public void addStartingAt(WordDictionary dictionary, int state, int start) {
+        for (int match = dictionary.firstMatch(state); match >= 0; match = dictionary.nextMatch(match)) {
+            int wordId = dictionary.wordAt(match);
+            add(start, start + dictionary.getWordLength(wordId), wordId);
+        }
+    }
+    
+    /**
+     * Drop matches that share letters with a better one.
+     * Longer words win, and earlier words win between equal lengths.
+     */
+    public void keepLongestNonOverlapping() {
+        // A long wall against a big dictionary can hold hundreds of overlapping matches, so sort in place in n log n
+        it.unimi.dsi.fastutil.Arrays.quickSort(0, size, bestFirst, swapper);
+        
+        int letters = 0;
+        for (int i = 0; i < size; i++) {
+            letters = Math.max(letters, ends[i]);
+        }
+        if (taken.length < letters) {
+            taken = new boolean[Math.max(letters, taken.length * 2)];
+        }
+        Arrays.fill(taken, 0, letters, false);
+        
+        // Greedily keep each match that doesn't overlap one already kept, checking its own letters only
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            boolean overlaps = false;
+            for (int letter = starts[i]; letter < ends[i]; letter++) {
+                if (taken[letter]) {
+                    overlaps = true;
+                    break;
+                }
+            }
+            if (!overlaps) {
+                Arrays.fill(taken, starts[i], ends[i], true);
+                swap(i, kept);
+                kept++;
+            }
+        }
+        size = kept;
+    }
+    
+    /**
+     * Order matches best first: longer, then earlier, then in the order they were found
+     */
+    private int compare(int a, int b) {
+        int lengthA = ends[a] - starts[a];
+        int lengthB = ends[b] - starts[b];
+        if (lengthA != lengthB) {
+            return Integer.compare(lengthB, lengthA);
+        }
+        if (starts[a] != starts[b]) {
+            return Integer.compare(starts[a], starts[b]);
+        }
+        return Integer.compare(order[a], order[b]);
+    }
+    
+    private void swap(int a, int b) {
+        int start = starts[a];
+        int end = ends[a];
+        int wordId = wordIds[a];
+        int added = order[a];
+        starts[a] = starts[b];
+        ends[a] = ends[b];
+        wordIds[a] = wordIds[b];
+        order[a] = order[b];
+        starts[b] = start;
+        ends[b] = end;
+        wordIds[b] = wordId;
+        order[b] = added;
+    }
+}
@@ -1,6 +1,7 @@
 package net.abe.tutorialmod.worldgen;
 
 import net.abe.tutorialmod.AlphabetBlocks;
+import net.abe.tutorialmod.LetterBlock;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.ChunkPos;
@@ -12,9 +13,7 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.abe.tutorialmod.TutorialMod;
 import net.abe.tutorialmod.dimension.LetterverseDimension;
-import net.neoforged.neoforge.registries.DeferredBlock;
 
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -32,7 +31,10 @@ public class LetterverseIslandGenerator {
             // Only generate in Letterverse dimension
             if (LetterverseDimension.isLetterverse(serverLevel)) {
                 ChunkAccess chunk = event.getChunk();
-                generateFloatingIslands(chunk, serverLevel);
+                
+                // Islands are written with chunk-local positions, so keep the letter hooks out of it.
+                // The letter index picks the islands up when it scans the chunk.
+                LetterBlock.runUntracked(() -> generateFloatingIslands(chunk, serverLevel));
             }
         }
     }
@@ -89,18 +91,7 @@ public class LetterverseIslandGenerator {
      * Get a random letter block
      */
     private static BlockState getRandomLetterBlock() {
-        List<DeferredBlock<?>> letterBlocks = List.of(
-            AlphabetBlocks.BLOCK_A, AlphabetBlocks.BLOCK_B, AlphabetBlocks.BLOCK_C,
-            AlphabetBlocks.BLOCK_D, AlphabetBlocks.BLOCK_E, AlphabetBlocks.BLOCK_F,
-            AlphabetBlocks.BLOCK_G, AlphabetBlocks.BLOCK_H, AlphabetBlocks.BLOCK_I,
-            AlphabetBlocks.BLOCK_J, AlphabetBlocks.BLOCK_K, AlphabetBlocks.BLOCK_L,
-            AlphabetBlocks.BLOCK_M, AlphabetBlocks.BLOCK_N, AlphabetBlocks.BLOCK_O,
-            AlphabetBlocks.BLOCK_P, AlphabetBlocks.BLOCK_Q, AlphabetBlocks.BLOCK_R,
-            AlphabetBlocks.BLOCK_S, AlphabetBlocks.BLOCK_T, AlphabetBlocks.BLOCK_U,
-            AlphabetBlocks.BLOCK_V, AlphabetBlocks.BLOCK_W, AlphabetBlocks.BLOCK_X,
-            AlphabetBlocks.BLOCK_Y, AlphabetBlocks.BLOCK_Z
-        );
-        
-        return letterBlocks.get(random.nextInt(letterBlocks.size())).get().defaultBlockState();
+        char letter = (char) ('a' + random.nextInt(AlphabetBlocks.LETTER_COUNT));
+        return AlphabetBlocks.getBlockForLetter(letter).defaultBlockState();
     }
 }
@@ -0,0 +1,144 @@
+package net.abe.tutorialmod.worldgen;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+/**
+ * A fixed set of blocks, put together once and stamped into the world wherever it's needed.
+ * Like clearing spelled letters, placing writes the blocks straight into their chunks instead of through setBlock
+ * one by one, so clients get one update per changed section, lighting is checked in one batch,
+ * and neighbor updates only go to blocks just outside the structure.
+ * Must be placed on the server thread, outside of any neighbor update, with every chunk it covers loaded.
+ */
+public final class StructureStamp {
+    
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final BlockPos.MutableBlockPos CURSOR = new BlockPos.MutableBlockPos();
+    private static final BlockPos.MutableBlockPos NEIGHBOR = new BlockPos.MutableBlockPos();
+    
+    // Indices of the blocks that changed in the placement being done
+    private static final IntArrayList CHANGED = new IntArrayList();
+    
+    // Blocks by packed offset from the origin; a later block replaces an earlier one at the same offset
+    private final Long2ObjectOpenHashMap<BlockState> blocks = new Long2ObjectOpenHashMap<>();
+    
+    // The blocks as arrays, column by column so neighbouring blocks share a chunk; null until first placed
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private BlockState[] states;
+    
+    /**
+     * Put a block at an offset from the origin
+     */
+    public StructureStamp set(int x, int y, int z, BlockState state) {
+        blocks.put(BlockPos.asLong(x, y, z), state);
+        states = null;
+        return this;
+    }
+    
+    /**
+     * Fill a box of offsets from the origin, corners included
+     */
+    public StructureStamp fill(int x1, int y1, int z1, int x2, int y2, int z2, BlockState state) {
+        for (int x = Math.min(x1, x2); x <= Math.max(x1, x2); x++) {
+            for (int z = Math.min(z1, z2); z <= Math.max(z1, z2); z++) {
+                for (int y = Math.min(y1, y2); y <= Math.max(y1, y2); y++) {
+                    set(x, y, z, state);
+                }
+            }
+        }
+        return this;
+    }
+    
+    public int size() {
+        return blocks.size();
+    }
+    
+    /**
+     * Write the blocks into the world with their offsets taken from an origin
+     *
+     * @return how many blocks changed
+     */
+    public int place(ServerLevel level, BlockPos origin) {
+        if (states == null) {
+            compile();
+        }
+        
+        ServerChunkCache chunks = level.getChunkSource();
+        LevelChunk chunk = null;
+        CHANGED.clear();
+        for (int i = 0; i < states.length; i++) {
+            CURSOR.set(origin.getX() + xs[i], origin.getY() + ys[i], origin.getZ() + zs[i]);
+            if (chunk == null || chunk.getPos().x != SectionPos.blockToSectionCoord(CURSOR.getX())
+                || chunk.getPos().z != SectionPos.blockToSectionCoord(CURSOR.getZ())) {
+                chunk = level.getChunkAt(CURSOR);
+            }
+            
+            // The chunk holder collects these into one section packet per section, sent at the end of the tick
+            BlockState old = chunk.setBlockState(CURSOR, states[i], false);
+            if (old != null) {
+                chunks.getLightEngine().checkBlock(CURSOR);
+                chunks.blockChanged(CURSOR);
+                
+                // What setBlock would do next, so blocks with a point of interest, like portal blocks, are registered
+                level.onBlockStateChange(CURSOR, old, states[i]);
+                CHANGED.add(i);
+            }
+        }
+        
+        // Blocks inside the structure were all placed together, but everything around it needs telling.
+        // Outside of a neighbor update these run straight away, so the cursors are free again once they return.
+        for (int c = 0; c < CHANGED.size(); c++) {
+            int i = CHANGED.getInt(c);
+            CURSOR.set(origin.getX() + xs[i], origin.getY() + ys[i], origin.getZ() + zs[i]);
+            for (Direction direction : DIRECTIONS) {
+                if (blocks.containsKey(BlockPos.asLong(xs[i] + direction.getStepX(), ys[i] + direction.getStepY(), zs[i] + direction.getStepZ()))) {
+                    continue;
+                }
+                NEIGHBOR.setWithOffset(CURSOR, direction);
+                level.neighborShapeChanged(direction.getOpposite(), states[i], NEIGHBOR, CURSOR, Block.UPDATE_ALL, Block.UPDATE_LIMIT);
+                level.neighborChanged(NEIGHBOR, states[i].getBlock(), CURSOR);
+            }
+        }
+        return CHANGED.size();
+    }
+    
+    private void compile() {
+        long[] offsets = new long[blocks.size()];
+        int n = 0;
+        for (Long2ObjectMap.Entry<BlockState> entry : blocks.long2ObjectEntrySet()) {
+            offsets[n++] = entry.getLongKey();
+        }
+        LongArrays.quickSort(offsets, (a, b) -> {
+            int order = Integer.compare(BlockPos.getX(a), BlockPos.getX(b));
+            if (order == 0) {
+                order = Integer.compare(BlockPos.getZ(a), BlockPos.getZ(b));
+            }
+            return order != 0 ? order : Integer.compare(BlockPos.getY(a), BlockPos.getY(b));
+        });
+        
+        xs = new int[n];
+        ys = new int[n];
+        zs = new int[n];
+        BlockState[] sorted = new BlockState[n];
+        for (int i = 0; i < n; i++) {
+            long offset = offsets[i];
+            xs[i] = BlockPos.getX(offset);
+            ys[i] = BlockPos.getY(offset);
+            zs[i] = BlockPos.getZ(offset);
+            sorted[i] = blocks.get(offset);
+        }
+        states = sorted;
+    }
+}
@@ -0,0 +1,69 @@
+package net.abe.tutorialmod.word;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FuzzyMatcherTest {
+    
+    private final FuzzyMatcher matcher = new FuzzyMatcher();
+    
+    /**
+     * Get the closest word to a run, or null if nothing is close enough
+     */
+    private String closest(WordDictionary dictionary, String letters, int maxDistance) {
+        int word = matcher.closest(dictionary, TestWords.run(letters), maxDistance);
+        return word >= 0 ? dictionary.getWord(word) : null;
+    }
+    
+    @Test
+    void findsWordsOneEditAway() {
+        WordDictionary dictionary = TestWords.dictionary("cake", "dog");
+        
+        assertEquals("cake", closest(dictionary, "cate", 1));
+        assertEquals("cake", closest(dictionary, "cke", 1));
+        assertEquals("cake", closest(dictionary, "caske", 1));
+        assertEquals("cake", closest(dictionary, "caek", 1));
+        assertEquals("dog", closest(dictionary, "dgo", 1));
+    }
+    
+    @Test
+    void findsWordsSpelledBackwards() {
+        assertEquals("cake", closest(TestWords.dictionary("cake"), "keac", 1));
+    }
+    
+    @Test
+    void findsWordsTwoEditsAwayOnlyWhenAllowed() {
+        WordDictionary dictionary = TestWords.dictionary("house");
+        
+        assertEquals("house", closest(dictionary, "hxusz", 2));
+        assertEquals(null, closest(dictionary, "hxusz", 1));
+        assertEquals("house", closest(dictionary, "huose", 2));
+    }
+    
+    @Test
+    void prefersTheClosestWord() {
+        WordDictionary dictionary = TestWords.dictionary("horse", "house");
+        
+        assertEquals("house", closest(dictionary, "houxe", 2));
+    }
+    
+    @Test
+    void givesNoHintForRunsThatCanStillGrowIntoAWord() {
+        WordDictionary dictionary = TestWords.dictionary("cake");
+        
+        assertEquals(null, closest(dictionary, "cak", 1));
+        assertEquals(null, closest(dictionary, "kac", 1));
+    }
+    
+    @Test
+    void givesNoHintForShortOrFarOffRuns() {
+        WordDictionary dictionary = TestWords.dictionary("cat", "cake");
+        
+        assertEquals(null, closest(dictionary, "ct", 1));
+        assertEquals(null, closest(dictionary, "xyzw", 2));
+        
+        // Too much longer than the longest word to be within the limit of any
+        assertEquals(null, closest(dictionary, "caaaaake", 2));
+    }
+}
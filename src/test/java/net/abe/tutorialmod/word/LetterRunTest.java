@@ -0,0 +1,71 @@
+package net.abe.tutorialmod.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LetterRunTest {
+    
+    /**
+     * Find the words in a run, as "word@start" in the order they are kept
+     */
+    private static List<String> find(WordDictionary dictionary, String letters) {
+        WordMatches matches = new WordMatches();
+        TestWords.run(letters).findWords(dictionary, matches);
+        List<String> found = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i++) {
+            found.add(dictionary.getWord(matches.wordId(i)) + "@" + matches.start(i));
+        }
+        return found;
+    }
+    
+    @Test
+    void readsTheWholeRunThroughTheOrigin() {
+        LetterRun run = TestWords.run("word");
+        
+        assertEquals(4, run.length());
+        assertEquals('w', run.letter(0));
+        assertEquals('d', run.letter(3));
+    }
+    
+    @Test
+    void findsWordsInsideLongerRuns() {
+        assertEquals(List.of("cat@1"), find(TestWords.dictionary("cat"), "xcatx"));
+    }
+    
+    @Test
+    void findsWordsSpelledBackwards() {
+        assertEquals(List.of("dog@1"), find(TestWords.dictionary("dog"), "xgod"));
+    }
+    
+    @Test
+    void keepsTheLongestOfOverlappingWords() {
+        assertEquals(List.of("cats@0"), find(TestWords.dictionary("cat", "cats", "at"), "cats"));
+    }
+    
+    @Test
+    void keepsTheEarlierOfOverlappingWordsOfEqualLength() {
+        assertEquals(List.of("abc@0"), find(TestWords.dictionary("abc", "cde"), "abcde"));
+    }
+    
+    @Test
+    void prefersForwardsWhenBothWaysCoverTheSameLetters() {
+        assertEquals(List.of("pots@0"), find(TestWords.dictionary("pots", "stop"), "pots"));
+    }
+    
+    @Test
+    void keepsEveryWordThatDoesNotOverlap() {
+        assertEquals(List.of("house@5", "cat@0", "dog@10"), find(TestWords.dictionary("cat", "dog", "house", "use"), "catxxhousedog"));
+    }
+    
+    @Test
+    void resolvesRunsWithManyOverlappingMatches() {
+        // Every run of a's is a word, so each letter starts and ends several matches, both ways
+        WordDictionary dictionary = TestWords.dictionary("aa", "aaa", "aaaa", "aaaaa");
+        
+        assertEquals(List.of("aaaaa@0", "aaaaa@5", "aaaaa@10", "aaaa@15"), find(dictionary, "a".repeat(19)));
+    }
+}
@@ -0,0 +1,47 @@
+package net.abe.tutorialmod.word;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared setup for the word tests
+ */
+final class TestWords {
+    
+    private static final int Y = 64;
+    
+    private TestWords() {
+    }
+    
+    /**
+     * Compile a dictionary of words that all reward paper.
+     * Bootstraps the vanilla registries first, since rewards are item stacks.
+     */
+    static synchronized WordDictionary dictionary(String... words) {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        
+        Map<String, ItemStack> entries = new LinkedHashMap<>();
+        for (String word : words) {
+            entries.put(word, new ItemStack(Items.PAPER));
+        }
+        return WordDictionary.compile(entries);
+    }
+    
+    /**
+     * Read a run of letters laid out west to east
+     */
+    static LetterRun run(String letters) {
+        LetterSource source = (x, y, z) -> y == Y && z == 0 && x >= 0 && x < letters.length() ? letters.charAt(x) : '\0';
+        LetterRun run = new LetterRun();
+        run.read(source, new BlockPos(0, Y, 0), Direction.Axis.X);
+        return run;
+    }
+}
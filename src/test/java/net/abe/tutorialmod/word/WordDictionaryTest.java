@@ -0,0 +1,85 @@
+package net.abe.tutorialmod.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WordDictionaryTest {
+    
+    /**
+     * Feed letters through the automaton, listing the words ending at each one, longest first
+     */
+    private static List<List<String>> wordsEndingAt(WordDictionary dictionary, String letters) {
+        List<List<String>> ending = new ArrayList<>();
+        int state = WordDictionary.ROOT;
+        for (int i = 0; i < letters.length(); i++) {
+            state = dictionary.step(state, letters.charAt(i));
+            List<String> words = new ArrayList<>();
+            for (int match = dictionary.firstMatch(state); match >= 0; match = dictionary.nextMatch(match)) {
+                words.add(dictionary.getWord(dictionary.wordAt(match)));
+            }
+            ending.add(words);
+        }
+        return ending;
+    }
+    
+    @Test
+    void findsEveryWordEndingAtEachLetter() {
+        WordDictionary dictionary = TestWords.dictionary("he", "she", "his", "hers");
+        
+        assertEquals(List.of(
+            List.of(),
+            List.of(),
+            List.of(),
+            List.of("she", "he"),
+            List.of(),
+            List.of("hers")
+        ), wordsEndingAt(dictionary, "ushers"));
+    }
+    
+    @Test
+    void followsFailureLinksAcrossOverlappingWords() {
+        WordDictionary dictionary = TestWords.dictionary("xabcd", "abc", "bc");
+        
+        // "xabcq" breaks off "xabcd", but "abc" and "bc" still end at the c
+        assertEquals(List.of(
+            List.of(),
+            List.of(),
+            List.of(),
+            List.of("abc", "bc"),
+            List.of()
+        ), wordsEndingAt(dictionary, "xabcq"));
+    }
+    
+    @Test
+    void startsOverAfterLettersOutsideTheAlphabet() {
+        WordDictionary dictionary = TestWords.dictionary("cat");
+        
+        assertEquals(List.of(List.of(), List.of(), List.of(), List.of(), List.of()), wordsEndingAt(dictionary, "ca?at"));
+        assertEquals(List.of("cat"), wordsEndingAt(dictionary, "?cat").get(3));
+    }
+    
+    @Test
+    void lowercasesAndSkipsInvalidWords() {
+        WordDictionary dictionary = TestWords.dictionary("Cat", "a", "c4t", "dog");
+        
+        assertEquals(2, dictionary.size());
+        assertEquals("cat", dictionary.getWord(dictionary.indexOf("cat")));
+        assertEquals(3, dictionary.getMaxWordLength());
+    }
+    
+    @Test
+    void looksUpWholeWordsOnly() {
+        WordDictionary dictionary = TestWords.dictionary("at", "cat");
+        
+        assertEquals("at", dictionary.getWord(dictionary.indexOf("at")));
+        assertEquals("cat", dictionary.getWord(dictionary.indexOf("cat")));
+        assertEquals(-1, dictionary.indexOf("ca"));
+        
+        // Ends on the state for "at" through a failure link, which isn't the word asked for
+        assertEquals(-1, dictionary.indexOf("xat"));
+    }
+}